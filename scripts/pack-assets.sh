@@ -0,0 +1,28 @@
+#!/bin/bash
+# Genera il pacchetto di immagini pre-scalate (target/lost-assets.pack)
+# Argomenti facoltativi: risoluzioni dello schermo, es. 1920x1080 2560x1440
+
+echo "═══════════════════════════════════════════════════"
+echo "  LOST - Pacchetto immagini"
+echo "═══════════════════════════════════════════════════"
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_DIR="$(dirname "$SCRIPT_DIR")"
+MAIN_SRC_DIR="$PROJECT_DIR/src/main/java"
+RES_DIR="$PROJECT_DIR/src/main/resources"
+OUT_DIR="$PROJECT_DIR/target/pack-classes"
+PACK_FILE="$PROJECT_DIR/target/lost-assets.pack"
+
+mkdir -p "$OUT_DIR"
+rm -rf "$OUT_DIR"/*
+
+# Solo il package graphics: il builder non usa Gson ne' H2
+echo "Compilo il generatore..."
+javac -d "$OUT_DIR" -sourcepath "$MAIN_SRC_DIR" \
+    "$MAIN_SRC_DIR/com/lost/graphics/AssetPackBuilder.java" || exit 1
+
+java -Djava.awt.headless=true -cp "$OUT_DIR:$RES_DIR" \
+    com.lost.graphics.AssetPackBuilder "$PACK_FILE" "$@" || exit 1
+
+echo "Il gioco usa il pacchetto se avviato dalla cartella del progetto,"
+echo "oppure con -Dlost.assetPack=/percorso/lost-assets.pack"
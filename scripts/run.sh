@@ -74,7 +74,7 @@ if [ "$(uname -s)" = "Darwin" ]; then
     JAVA_OPTS+=("-XstartOnFirstThread")
 fi
 
-java "${JAVA_OPTS[@]}" -cp "$BIN_DIR:$GSON_JAR_PATH:$H2_JAR_PATH" com.lost.Main
+java "${JAVA_OPTS[@]}" -cp "$BIN_DIR:$GSON_JAR_PATH:$H2_JAR_PATH" com.lost.Main "$@"
 
 echo ""
 echo "═══════════════════════════════════════════════════"
@@ -1,9 +1,16 @@
 package com.lost;
 
+import com.lost.graphics.AssetPack;
+import com.lost.graphics.GameFonts;
 import com.lost.gui.FullScreenGUI;
 import com.lost.records.RecordApiServer;
+import com.lost.records.RecordService;
 import com.lost.socket.DharmaRadioServer;
+import com.lost.socket.GameSessionServer;
+import com.lost.terminal.TerminalGame;
 import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Lost - Avventura Grafica sull'Isola
@@ -20,22 +27,54 @@ public final class Main {
     }
 
     /**
-     * Punto di ingresso del gioco: avvia il server dei record,
-     * chiede il nome al giocatore e apre la GUI.
-     * @param args argomenti da riga di comando (non usati)
+     * Punto di ingresso del gioco: avvia in parallelo database dei
+     * record, server e risorse grafiche, e apre la GUI appena font e
+     * look and feel sono pronti, senza aspettare il resto. Con
+     * {@code --headless} si gioca invece nel terminale, senza finestra.
+     * @param args argomenti da riga di comando ({@code --headless},
+     *             {@code --no-color})
      */
     public static void main(String[] args) {
-        RecordApiServer.start();
-        DharmaRadioServer.start();
-
-        // Imposta look and feel del sistema
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            // Usa quello di default
+        for (String arg : args) {
+            if ("--headless".equals(arg)) {
+                TerminalGame.start(args);
+                return;
+            }
         }
 
+        Startup startup = new Startup();
+
+        CompletableFuture<Void> fonts = startup.run("font", () -> GameFonts.retroPlain(16f));
+        CompletableFuture<Void> lookAndFeel = startup.run("look and feel", () -> {
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } catch (Exception e) {
+                // Usa quello di default
+            }
+        });
+        CompletableFuture<RecordService> records = startup.supply("database record", RecordService::new);
+        startup.run("API record", () -> RecordApiServer.start(records.join()), records);
+        startup.run("radio DHARMA", DharmaRadioServer::start);
+        startup.run("partite in rete", GameSessionServer::start);
+        startup.run("pacchetto immagini", AssetPack::shared);
+        startup.run("icone inventario", FullScreenGUI::preloadResources);
+
         // La GUI mostra il menu iniziale (nuova partita, carica, record)
-        SwingUtilities.invokeLater(FullScreenGUI::new);
+        startup.firstWindow();
+        CompletableFuture<Void> window = startup.run("finestra", () -> showWindow(records), fonts, lookAndFeel);
+        startup.reportWhenDone();
+
+        // A finestra aperta, il JIT si scalda su una partita finta mentre si legge il menu
+        window.thenRun(WarmUp::startInBackground);
+    }
+
+    private static void showWindow(CompletableFuture<RecordService> records) {
+        try {
+            SwingUtilities.invokeAndWait(() -> new FullScreenGUI(records));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Finestra non creata", e.getCause());
+        }
     }
 }
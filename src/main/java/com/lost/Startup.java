@@ -0,0 +1,145 @@
+package com.lost;
+
+import java.awt.AWTEvent;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Orchestratore dell'avvio: esegue in parallelo le inizializzazioni
+ * indipendenti (font, database dei record, server, risorse grafiche),
+ * ognuna dopo le sole fasi da cui dipende, e registra quando ciascuna
+ * inizia e finisce. Alla fine stampa il dettaglio dei tempi, compreso
+ * il momento in cui la prima finestra compare sullo schermo.
+ */
+public final class Startup {
+
+    /** Tempi di una fase, in nanosecondi dall'inizio dell'avvio. */
+    private record Phase(String name, long start, long end, boolean failed) {
+    }
+
+    private final long origin = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+    private final ExecutorService executor;
+
+    /** Crea l'orchestratore con i suoi thread daemon "lost-startup-N". */
+    public Startup() {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "lost-startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Avvia una fase che produce un risultato.
+     * @param name nome della fase nel resoconto
+     * @param work lavoro da eseguire
+     * @param after fasi che devono essere finite prima
+     * @param <T> tipo del risultato
+     * @return future completato con il risultato della fase
+     */
+    public <T> CompletableFuture<T> supply(String name, Supplier<T> work, CompletableFuture<?>... after) {
+        CompletableFuture<T> future = CompletableFuture.allOf(after)
+            .thenApplyAsync(ignored -> timed(name, work), executor);
+        synchronized (this) {
+            pending.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Avvia una fase senza risultato.
+     * @param name nome della fase nel resoconto
+     * @param work lavoro da eseguire
+     * @param after fasi che devono essere finite prima
+     * @return future completato a fase finita
+     */
+    public CompletableFuture<Void> run(String name, Runnable work, CompletableFuture<?>... after) {
+        return supply(name, () -> {
+            work.run();
+            return null;
+        }, after);
+    }
+
+    /**
+     * Registra come fase il tempo fino alla prima finestra aperta.
+     * @return future completato quando la finestra e' sullo schermo
+     */
+    public CompletableFuture<Void> firstWindow() {
+        CompletableFuture<Void> opened = new CompletableFuture<>();
+        Toolkit toolkit = Toolkit.getDefaultToolkit();
+        AWTEventListener listener = new AWTEventListener() {
+            @Override
+            public void eventDispatched(AWTEvent event) {
+                if (event.getID() == WindowEvent.WINDOW_OPENED && !opened.isDone()) {
+                    addPhase("primo frame", origin, System.nanoTime(), false);
+                    toolkit.removeAWTEventListener(this);
+                    opened.complete(null);
+                }
+            }
+        };
+        toolkit.addAWTEventListener(listener, AWTEvent.WINDOW_EVENT_MASK);
+        synchronized (this) {
+            pending.add(opened);
+        }
+        return opened;
+    }
+
+    /**
+     * Stampa il resoconto dei tempi quando tutte le fasi registrate
+     * sono terminate, anche se qualcuna e' fallita.
+     */
+    public void reportWhenDone() {
+        CompletableFuture<?>[] all;
+        synchronized (this) {
+            all = pending.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(all).handle((ignored, error) -> {
+            System.out.print(report());
+            executor.shutdown();
+            return null;
+        });
+    }
+
+    /** {@return il dettaglio dei tempi delle fasi finite finora} */
+    public synchronized String report() {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort((a, b) -> Long.compare(a.end(), b.end()));
+        long total = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1).end() - origin;
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(" Avvio completato in %d ms:%n", total / 1_000_000));
+        for (Phase phase : sorted) {
+            out.append(String.format("   %-20s %5d -> %5d ms%s%n", phase.name(),
+                (phase.start() - origin) / 1_000_000, (phase.end() - origin) / 1_000_000,
+                phase.failed() ? "  (fallita)" : ""));
+        }
+        return out.toString();
+    }
+
+    private <T> T timed(String name, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            T result = work.get();
+            addPhase(name, start, System.nanoTime(), false);
+            return result;
+        } catch (RuntimeException e) {
+            addPhase(name, start, System.nanoTime(), true);
+            throw e;
+        }
+    }
+
+    private synchronized void addPhase(String name, long start, long end, boolean failed) {
+        phases.add(new Phase(name, start, end, failed));
+    }
+}
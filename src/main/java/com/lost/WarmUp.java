@@ -0,0 +1,116 @@
+package com.lost;
+
+import com.lost.engine.GameEngine;
+import com.lost.events.GameEventBus;
+import com.lost.graphics.TextColorizer;
+import com.lost.records.RecordRepository;
+import com.lost.save.GameConverter;
+import com.lost.save.GameState;
+
+/**
+ * Riscaldamento del JIT all'avvio: su un thread a bassa priorita' gioca
+ * da solo una partita scritta a mano, su un motore usa e getta con un bus
+ * eventi privato e un database H2 in memoria, poi butta via tutto. Quando
+ * il giocatore preme il primo AVANTI, parser, motore, colorazione del
+ * testo, Gson e H2 sono gia' compilati.
+ *
+ * <p>Si disattiva con {@code -Dlost.warmup=false}.</p>
+ */
+public final class WarmUp {
+    /** Proprieta' di sistema che abilita il riscaldamento (default true). */
+    public static final String PROPERTY = "lost.warmup";
+    /** Partite giocate: bastano a superare le soglie di compilazione C2. */
+    private static final int ROUNDS = 15;
+    private static final String DB_URL = "jdbc:h2:mem:lost-warmup;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Comandi della partita: i capitoli fino a "La scoperta", con il mini
+     * gioco saltato e la dinamite presa e usata (lo stesso percorso degli
+     * smoke test).
+     */
+    private static final String[] SCRIPT = {
+        "A", "avanti", "A", "avanti", "B", "avanti", "C", "avanti",
+        "A", "salta", "avanti", "C", "avanti",
+        "A", "prendi dinamite", "avanti", "usa dinamite", "avanti",
+        "A", "avanti", "B", "avanti", "C", "avanti", "B", "avanti",
+        "A", "avanti", "nuotare", "avanti", "A", "avanti",
+    };
+    /** Comandi liberi esplorati a fine partita. */
+    private static final String[] FREE_COMMANDS = {
+        "guarda", "inventario", "nord", "sud", "prendi bussola", "aiuto", "xyz",
+    };
+
+    private WarmUp() {
+    }
+
+    /**
+     * Avvia il riscaldamento su un thread daemon a priorita' minima, se
+     * non e' stato disattivato.
+     * @return il thread avviato, null se disattivato
+     */
+    public static Thread startInBackground() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) {
+            return null;
+        }
+        Thread thread = new Thread(WarmUp::runAndReport, "lost-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Gioca le partite di riscaldamento sul thread corrente.
+     * @return numero di comandi eseguiti
+     */
+    public static int run() {
+        RecordRepository records = new RecordRepository(DB_URL);
+        GameEventBus privateBus = new GameEventBus();
+        int commands = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            commands += playOnce(privateBus, records);
+        }
+        return commands;
+    }
+
+    private static void runAndReport() {
+        long start = System.nanoTime();
+        try {
+            int commands = run();
+            System.out.println(" Warm-up completato: " + commands + " comandi in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (RuntimeException e) {
+            // Il riscaldamento e' solo un'ottimizzazione: il gioco va avanti comunque
+            System.out.println("Warm-up interrotto: " + e.getMessage());
+        }
+    }
+
+    private static int playOnce(GameEventBus bus, RecordRepository records) {
+        GameEngine engine = new GameEngine(bus);
+        engine.getAudioManager().setMusicEnabled(false);
+        engine.initializeGame("Warmup");
+        engine.forceStartFirstChapter();
+
+        for (String command : SCRIPT) {
+            turn(engine, command);
+        }
+        for (String command : FREE_COMMANDS) {
+            turn(engine, command);
+        }
+
+        // Salvataggio e caricamento in memoria, senza toccare ~/.lost
+        GameState state = GameConverter.fromJson(GameConverter.toJson(GameConverter.extractState(engine)));
+        GameEngine loaded = new GameEngine(bus);
+        loaded.getAudioManager().setMusicEnabled(false);
+        loaded.loadGameState(state);
+
+        records.save("Warmup", 60_000L);
+        records.findBest(5);
+        return SCRIPT.length + FREE_COMMANDS.length;
+    }
+
+    private static void turn(GameEngine engine, String command) {
+        String response = engine.processCommand(command);
+        TextColorizer.colorize(response);
+    }
+}
@@ -0,0 +1,77 @@
+package com.lost.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Esegue i turni del {@link GameEngine} su un thread dedicato, fuori
+ * dall'EDT di Swing. Salvataggi, caricamenti, trasmissioni radio e
+ * record non bloccano piu' il disegno della finestra.
+ *
+ * <p>Il thread e' unico: i comandi inviati mentre un turno lento e'
+ * ancora in corso vengono accodati ed eseguiti nell'ordine di arrivo,
+ * senza andare persi.</p>
+ */
+public final class EngineExecutor {
+
+    /**
+     * Risposta di un turno insieme allo stato del motore subito dopo.
+     * @param response testo del turno
+     * @param snapshot stato subito dopo il turno
+     * @param delta cambiamenti dalla versione indicata dal client, calcolati
+     *              sullo stesso turno; null se il client non ne ha chiesti
+     */
+    public record TurnResult(String response, EngineSnapshot snapshot, StateDelta delta) {
+
+        /**
+         * Risultato senza delta.
+         * @param response testo del turno
+         * @param snapshot stato subito dopo il turno
+         */
+        public TurnResult(String response, EngineSnapshot snapshot) {
+            this(response, snapshot, null);
+        }
+    }
+
+    private final ExecutorService executor;
+
+    /** Crea l'esecutore con il suo thread daemon "lost-engine". */
+    public EngineExecutor() {
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "lost-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Accoda un comando del giocatore.
+     * @param engine motore su cui eseguire il comando
+     * @param command input testuale del giocatore
+     * @return future completato con risposta e snapshot del turno
+     */
+    public CompletableFuture<TurnResult> submit(GameEngine engine, String command) {
+        return call(() -> {
+            String response = engine.processCommand(command);
+            return new TurnResult(response, engine.snapshot());
+        });
+    }
+
+    /**
+     * Accoda un lavoro generico (salvataggio, record, caricamento)
+     * dietro ai turni gia' in coda.
+     * @param task lavoro da eseguire sul thread del motore
+     * @param <T> tipo del risultato
+     * @return future completato con il risultato del lavoro
+     */
+    public <T> CompletableFuture<T> call(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /** Ferma il thread dopo aver completato i lavori gia' accodati. */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
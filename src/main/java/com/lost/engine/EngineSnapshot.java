@@ -0,0 +1,123 @@
+package com.lost.engine;
+
+import com.lost.minigames.MiniGame;
+import com.lost.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fotografia immutabile dello stato del motore al termine di un turno,
+ * pubblicata da {@link GameEngine#snapshot()}. GUI, API e server la
+ * leggono al posto dei getter, che possono essere modificati in parallelo
+ * dal thread del motore.
+ *
+ * @param version versione dello stato: cresce solo quando qualcosa cambia
+ * @param playerName nome del giocatore
+ * @param daysOnIsland giorno narrativo corrente
+ * @param roomKey chiave della stanza corrente
+ * @param sceneImageKey chiave dell'immagine di scena da mostrare
+ * @param chapterNumber numero del capitolo corrente (1-based)
+ * @param totalChapters totale dei capitoli
+ * @param chapterTitle titolo del capitolo corrente
+ * @param chapterHasChoices true se il capitolo offre scelte A/B/C
+ * @param quickAnswerLabel etichetta del bottone rapido, null se assente
+ * @param miniGameButtonLabels etichette A/B/C del mini gioco attivo, null se nessuno
+ * @param inventory nomi degli oggetti nell'inventario, in ordine
+ * @param dynamiteTimer turni alla detonazione della dinamite, -1 se non innescata
+ * @param gameRunning true se la partita e' in corso
+ * @param gameWon true se la partita e' stata vinta
+ * @param gameOver true se il giocatore e' morto
+ * @param loadedFromSave true se la partita proviene da un salvataggio
+ * @param upcomingImageKeys immagini dei prossimi capitoli, da preparare in anticipo
+ */
+public record EngineSnapshot(
+    long version,
+    String playerName,
+    int daysOnIsland,
+    String roomKey,
+    String sceneImageKey,
+    int chapterNumber,
+    int totalChapters,
+    String chapterTitle,
+    boolean chapterHasChoices,
+    String quickAnswerLabel,
+    List<String> miniGameButtonLabels,
+    List<String> inventory,
+    int dynamiteTimer,
+    boolean gameRunning,
+    boolean gameWon,
+    boolean gameOver,
+    boolean loadedFromSave,
+    List<String> upcomingImageKeys
+) {
+    /** Capitoli successivi di cui preparare le immagini. */
+    private static final int PREFETCH_CHAPTERS = 2;
+
+
+    /**
+     * Copia lo stato corrente del motore. Va chiamato dal thread
+     * che esegue i turni (o quando nessun turno e' in corso); gli altri
+     * thread usano lo snapshot gia' pubblicato dal motore.
+     * @param engine motore di gioco da fotografare
+     * @param version versione da assegnare allo snapshot
+     * @return snapshot immutabile
+     */
+    public static EngineSnapshot of(GameEngine engine, long version) {
+        List<String> inventory = new ArrayList<>();
+        String playerName = "";
+        int days = 1;
+        if (engine.getPlayer() != null) {
+            playerName = engine.getPlayer().getName();
+            days = engine.getPlayer().getDaysOnIsland();
+            for (Item item : engine.getPlayer().getInventory()) {
+                inventory.add(item.getName());
+            }
+        }
+
+        List<String> miniGameLabels = null;
+        MiniGame miniGame = engine.getActiveMiniGame();
+        if (miniGame != null) {
+            miniGameLabels = List.of(miniGame.getButtonALabel(),
+                miniGame.getButtonBLabel(), miniGame.getButtonCLabel());
+        }
+
+        return new EngineSnapshot(
+            version,
+            playerName,
+            days,
+            engine.getCurrentRoomKey(),
+            engine.getCurrentSceneImageKey(),
+            engine.getCurrentChapterNumber(),
+            engine.getTotalChapters(),
+            engine.getCurrentChapterTitle(),
+            engine.currentChapterHasChoices(),
+            engine.getCurrentChapterQuickAnswerLabel(),
+            miniGameLabels,
+            List.copyOf(inventory),
+            engine.isDynamiteActive() ? engine.getDynamiteTimer() : -1,
+            engine.isGameRunning(),
+            engine.isGameWon(),
+            engine.isGameOver(),
+            engine.isLoadedFromSave(),
+            List.copyOf(engine.getUpcomingImageKeys(PREFETCH_CHAPTERS))
+        );
+    }
+
+    /**
+     * Copia lo snapshot con un'altra versione.
+     * @param newVersion versione da assegnare
+     * @return lo snapshot con la nuova versione
+     */
+    public EngineSnapshot withVersion(long newVersion) {
+        return new EngineSnapshot(newVersion, playerName, daysOnIsland, roomKey, sceneImageKey,
+            chapterNumber, totalChapters, chapterTitle, chapterHasChoices, quickAnswerLabel,
+            miniGameButtonLabels, inventory, dynamiteTimer, gameRunning, gameWon, gameOver,
+            loadedFromSave, upcomingImageKeys);
+    }
+
+    /** {@return true se c'e' un mini gioco in corso} */
+    public boolean miniGameActive() {
+        return miniGameButtonLabels != null;
+    }
+}
@@ -2,19 +2,34 @@ package com.lost.engine;
 
 import com.lost.model.*;
 import com.lost.audio.AudioManager;
+import com.lost.events.GameEvent;
+import com.lost.events.GameEventBus;
 import com.lost.minigames.*;
 import com.lost.save.GameState;
 import com.lost.save.GameSave;
 import com.lost.save.GameSaveInstance;
 import com.lost.save.ItemData;
-import com.lost.socket.DharmaRadioServer;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Motore di gioco principale per Lost
  * Gestisce la storia, i capitoli e le interazioni
  */
 public class GameEngine {
+    /** Versioni recenti conservate per calcolare i delta di stato. */
+    private static final int DELTA_HISTORY = 32;
+    /** Immagine-evento mostrata quando si supera un capitolo. */
+    private static final Map<String, String> CHAPTER_EVENT_IMAGES = Map.of(
+        "cap7_blackrock", "black_rock_interno",
+        "cap9_swan", "terminale_numero",
+        "cap10_henrygale", "cattura",
+        "cap11_others", "circondati",
+        "cap11_escape_others", "fuga_dal_fumo_nero",
+        "cap13_walt", "spari_e_fuoco");
+
     private Player player;
     private Map<String, Room> allRooms;
     private Room startRoom;
@@ -22,10 +37,13 @@ public class GameEngine {
     private boolean gameWon;
     private boolean playerDead;
     private boolean loadedFromSave;
+    // Le partite ospitate non devono toccare i salvataggi dell'host
+    private boolean savesEnabled = true;
 
     // Immagine-evento: sostituisce temporaneamente quella del capitolo
     private String eventImageKey;
-    private List<String> gameLog;
+    private final GameLog gameLog;
+    private int turnCount;
 
     // Modalità narrativa LOST
     private boolean narrativeMode;
@@ -40,6 +58,9 @@ public class GameEngine {
     // Parser comandi con alias
     private final CommandParser commandParser;
 
+    // Bus su cui vengono pubblicati gli eventi della partita
+    private final GameEventBus eventBus;
+
     // TIMER per eventi temporizzati (stile guida Colombini)
     private int dynamiteTimer = 0;          // Dinamite attivata
     private boolean dynamiteActive = false;
@@ -57,10 +78,29 @@ public class GameEngine {
     private Map<String, MiniGame> miniGames;
     private boolean miniGameIntroShown;
 
-    /** Crea il motore di gioco con stato vuoto e mini giochi registrati. */
+    // Osservatori dello stato e ultimi valori notificati
+    private final List<GameStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    private int notifiedDay = -1;
+    private String notifiedRoomKey;
+    private List<String> notifiedInventory = List.of();
+    /** Ultimo stato pubblicato, letto senza lock da qualsiasi thread. */
+    private volatile EngineSnapshot snapshot;
+    /** Versioni recenti da cui calcolare i delta, indicizzate per versione modulo la capacita'. */
+    private final AtomicReferenceArray<EngineSnapshot> history = new AtomicReferenceArray<>(DELTA_HISTORY);
+
+    /** Crea il motore di gioco che pubblica sul bus condiviso. */
     public GameEngine() {
+        this(GameEventBus.shared());
+    }
+
+    /**
+     * Crea il motore di gioco con stato vuoto e mini giochi registrati.
+     * @param eventBus bus su cui pubblicare gli eventi della partita
+     */
+    public GameEngine(GameEventBus eventBus) {
+        this.eventBus = eventBus;
         this.allRooms = new HashMap<>();
-        this.gameLog = new ArrayList<>();
+        this.gameLog = new GameLog();
         this.gameRunning = false;
         this.gameWon = false;
         this.narrativeMode = true;
@@ -88,18 +128,131 @@ public class GameEngine {
         player.setCurrentRoom(startRoom);
         gameRunning = true;
 
-        addLog("═══════════════════════════════════════════════════");
-        addLog("   OCEANIC FLIGHT 815 - GIORNO 1");
-        addLog("═══════════════════════════════════════════════════");
-        addLog("");
-        addLog("Sei vivo, " + playerName + ". Non tutti lo sono.");
-        addLog("");
-        addLog("Il mondo sa che siamo spariti.");
-        addLog("L'aereo e' atterrato su quest'isola.");
-        addLog("E' solo questione di ore prima che qualcuno venga a salvarci.");
-        addLog("");
-        addLog("Devi solo resistere.");
-        addLog("═══════════════════════════════════════════════════");
+        addLog(GameLog.Type.INTRO, "═══════════════════════════════════════════════════");
+        addLog(GameLog.Type.INTRO, "   OCEANIC FLIGHT 815 - GIORNO 1");
+        addLog(GameLog.Type.INTRO, "═══════════════════════════════════════════════════");
+        addLog(GameLog.Type.INTRO, "");
+        addLog(GameLog.Type.INTRO, "Sei vivo, " + playerName + ". Non tutti lo sono.");
+        addLog(GameLog.Type.INTRO, "");
+        addLog(GameLog.Type.INTRO, "Il mondo sa che siamo spariti.");
+        addLog(GameLog.Type.INTRO, "L'aereo e' atterrato su quest'isola.");
+        addLog(GameLog.Type.INTRO, "E' solo questione di ore prima che qualcuno venga a salvarci.");
+        addLog(GameLog.Type.INTRO, "");
+        addLog(GameLog.Type.INTRO, "Devi solo resistere.");
+        addLog(GameLog.Type.INTRO, "═══════════════════════════════════════════════════");
+        publishStateChanges();
+    }
+
+    /**
+     * Registra un osservatore dei cambiamenti di giorno, stanza e inventario.
+     * @param listener osservatore da aggiungere
+     */
+    public void addStateListener(GameStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * Rimuove un osservatore registrato in precedenza.
+     * @param listener osservatore da togliere
+     */
+    public void removeStateListener(GameStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Ultimo stato pubblicato dal motore, alla fine del turno piu' recente.
+     * Si puo' leggere da qualsiasi thread, anche mentre un turno e' in
+     * corso: e' immutabile e viene sostituito in blocco, quindi non serve
+     * sincronizzare ne' copiare, a differenza dei getter.
+     * @return lo snapshot, null se la partita non e' ancora iniziata
+     */
+    public EngineSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Cosa e' cambiato dalla versione che il client conosce. Come
+     * {@link #snapshot()} si puo' chiamare da qualsiasi thread.
+     * @param knownVersion ultima versione ricevuta dal client, 0 se nessuna
+     * @return il delta, completo se la versione e' sconosciuta o piu'
+     *         vecchia delle ultime {@value #DELTA_HISTORY}; null se la
+     *         partita non e' ancora iniziata
+     */
+    public StateDelta deltaSince(long knownVersion) {
+        EngineSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        EngineSnapshot known = knownVersion > 0
+            ? history.get((int) (knownVersion % DELTA_HISTORY)) : null;
+        if (known != null && known.version() != knownVersion) {
+            known = null;
+        }
+        return StateDelta.between(known, current);
+    }
+
+    /**
+     * Ripubblica snapshot e notifiche dopo modifiche fatte fuori da un
+     * turno, come l'intro che mette oggetti nell'inventario.
+     * @return lo snapshot aggiornato
+     */
+    public EngineSnapshot republishState() {
+        publishStateChanges();
+        return snapshot;
+    }
+
+    /**
+     * Pubblica lo snapshot del turno, poi confronta giorno, stanza e
+     * inventario con gli ultimi valori notificati e avvisa gli osservatori
+     * solo di cio' che e' cambiato. Un controllo a fine turno copre tutti
+     * i punti che modificano il giocatore, anche quelli che passano
+     * direttamente da {@link Player}.
+     */
+    private void publishStateChanges() {
+        if (player == null) {
+            return;
+        }
+        publishSnapshot();
+        int day = player.getDaysOnIsland();
+        String roomKey = getCurrentRoomKey();
+        List<String> inventory = new ArrayList<>(player.getInventory().size());
+        for (Item item : player.getInventory()) {
+            inventory.add(item.getName());
+        }
+
+        boolean dayChanged = day != notifiedDay;
+        boolean roomChanged = !Objects.equals(roomKey, notifiedRoomKey);
+        boolean inventoryChanged = !inventory.equals(notifiedInventory);
+        notifiedDay = day;
+        notifiedRoomKey = roomKey;
+        if (inventoryChanged) {
+            notifiedInventory = List.copyOf(inventory);
+        }
+
+        for (GameStateListener listener : stateListeners) {
+            if (dayChanged) listener.dayChanged(day);
+            if (roomChanged) listener.roomChanged(roomKey);
+            if (inventoryChanged) listener.inventoryChanged(notifiedInventory);
+        }
+    }
+
+    /** Pubblica un nuovo snapshot, con una nuova versione solo se lo stato e' cambiato. */
+    private void publishSnapshot() {
+        EngineSnapshot previous = snapshot;
+        // La prima versione e' casuale: un client con la versione di un altro
+        // motore (partita ricaricata) non la ritrova per caso nella storia
+        long version = previous == null
+            ? ThreadLocalRandom.current().nextLong(1, Integer.MAX_VALUE) : previous.version();
+        EngineSnapshot next = EngineSnapshot.of(this, version);
+        if (next.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            next = next.withVersion(version + 1);
+        }
+        // Prima la storia, poi il volatile: chi legge la versione la trova gia' nella storia
+        history.set((int) (next.version() % DELTA_HISTORY), next);
+        snapshot = next;
     }
 
     private void createStoryChapters() {
@@ -127,11 +280,21 @@ public class GameEngine {
      * @return testo di risposta da mostrare al giocatore
      */
     public String processCommand(String command) {
+        turnCount++;
+        String response = handleCommand(command);
+        publishStateChanges();
+        return response;
+    }
+
+    private String handleCommand(String command) {
         if (!gameRunning) {
             // A partita finita resta possibile caricare un salvataggio.
             CommandParser.ParsedCommand endParsed =
                 commandParser.parse(command == null ? "" : command.trim().toLowerCase());
             if (endParsed.getType() == CommandType.CARICA_PARTITA) {
+                if (!savesEnabled) {
+                    return savesDisabledMessage();
+                }
                 String slot = endParsed.getTarget();
                 return slot.isEmpty() ? listSaves() : loadGame(slot);
             }
@@ -333,7 +496,9 @@ public class GameEngine {
     public String forceStartFirstChapter() {
         currentChapterStarted = false;
         currentChapterCompleted = false;
-        return startNextChapter();
+        String response = startNextChapter();
+        publishStateChanges();
+        return response;
     }
 
     private String startNextChapter() {
@@ -356,11 +521,11 @@ public class GameEngine {
 
         updateRoomByChapter(currentChapter);
 
-        DharmaRadioServer.broadcast("CAP. " + (currentChapter + 1) + "/" +
-            storyChapters.size() + " - " + chapter.getTitle());
+        eventBus.publish(new GameEvent.ChapterStarted(
+            currentChapter + 1, storyChapters.size(), chapter.getTitle()));
 
         String msg = formatChapterDisplay(chapter, true);
-        addLog(msg);
+        addLog(GameLog.Type.CHAPTER, msg);
         return msg;
     }
 
@@ -443,20 +608,15 @@ public class GameEngine {
             // giocatore raccoglierla prima di tornare alla botola.
             if ("cap7_blackrock".equals(chapter.getKey())) {
                 blackRockExplored = true;
-                eventImageKey = "black_rock_interno";
                 success += "Schiodi il coperchio del baule: dentro, file ordinate\n" +
                            "di candelotti di DINAMITE, vecchi ma asciutti.\n\n" +
                            "Usa 'prendi dinamite' prima di lasciare la stiva!\n\n";
             }
 
             // Immagini-evento per i momenti chiave della storia
-            switch (chapter.getKey()) {
-                case "cap9_swan": eventImageKey = "terminale_numero"; break;
-                case "cap10_henrygale": eventImageKey = "cattura"; break;
-                case "cap11_others": eventImageKey = "circondati"; break;
-                case "cap11_escape_others": eventImageKey = "fuga_dal_fumo_nero"; break;
-                case "cap13_walt": eventImageKey = "spari_e_fuoco"; break;
-                default: break;
+            String chapterEventImage = CHAPTER_EVENT_IMAGES.get(chapter.getKey());
+            if (chapterEventImage != null) {
+                eventImageKey = chapterEventImage;
             }
 
             if (currentChapter >= storyChapters.size()) {
@@ -515,7 +675,8 @@ public class GameEngine {
         destination.setVisited(true);
         // Esplorando si vede l'arte della stanza
         eventImageKey = destination.getKey();
-        DharmaRadioServer.broadcast(player.getName() + " si sposta verso " + destination.getName());
+        eventBus.publish(new GameEvent.PlayerMoved(
+            player.getName(), destination.getKey(), destination.getName()));
         String result = "Ti sposti verso " + direction.trim().toUpperCase() + "...\n\n" +
                         destination.getFullDescription();
         if (destination.isDangerous()) {
@@ -542,7 +703,7 @@ public class GameEngine {
             if (item.getName().toLowerCase().contains("dinamite")) {
                 eventImageKey = "scoperta_dinamite";
             }
-            DharmaRadioServer.broadcast(player.getName() + " ha raccolto: " + item.getName());
+            eventBus.publish(new GameEvent.ItemTaken(player.getName(), item.getName()));
             return " Hai preso: " + item.getName();
         } else {
             room.addItem(item);
@@ -1182,7 +1343,7 @@ public class GameEngine {
         dynamiteTimer = 0;
         advanceChapter();
         eventImageKey = "botola_aperta";
-        DharmaRadioServer.broadcast("BOOM! La botola e' stata aperta con la dinamite.");
+        eventBus.publish(new GameEvent.HatchOpened());
 
         return "Sistemi i candelotti sul portello e accendi la miccia.\n" +
                "'AL RIPARO!'\n" +
@@ -1262,7 +1423,7 @@ public class GameEngine {
                              "La dinamite e' esplosa TRA LE TUE MANI!\n" +
                              "Non avresti dovuto tenerla...\n\n" +
                              "SEI MORTO";
-            addLog(message);
+            addLog(GameLog.Type.EVENT, message);
             dynamiteActive = false;
             gameRunning = false;
             return message;
@@ -1271,14 +1432,14 @@ public class GameEngine {
             String message = "BOOM!\n" +
                              "Senti un'esplosione in lontananza.\n" +
                              "Qualcosa e' stato distrutto...";
-            addLog(message);
+            addLog(GameLog.Type.EVENT, message);
             dynamiteActive = false;
             return message;
         }
     }
 
-    private void addLog(String message) {
-        gameLog.add(message);
+    private void addLog(GameLog.Type type, String message) {
+        gameLog.append(turnCount, type, message);
     }
 
     /**
@@ -1287,7 +1448,7 @@ public class GameEngine {
      * l'avventura, ha diritto ad aspettarsi qualcosa di più gratificante"
      */
     private String getEpicEnding() {
-        DharmaRadioServer.broadcast(player.getName() + " e' fuggito dall'isola. FINE.");
+        eventBus.publish(new GameEvent.GameCompleted(player.getName()));
         StringBuilder ending = new StringBuilder();
 
         ending.append("\n");
@@ -1326,7 +1487,13 @@ public class GameEngine {
 
     /** {@return l'ultima riga aggiunta al log di gioco, stringa vuota se nessuna} */
     public String getLastLog() {
-        return gameLog.isEmpty() ? "" : gameLog.get(gameLog.size() - 1);
+        GameLog.Entry last = gameLog.last();
+        return last == null ? "" : last.text();
+    }
+
+    /** {@return il log di gioco a capacita' fissa, interrogabile per intervalli} */
+    public GameLog getGameLog() {
+        return gameLog;
     }
 
     /** {@return la chiave della stanza corrente del giocatore, "spiaggia" come default} */
@@ -1350,6 +1517,36 @@ public class GameEngine {
         return chapter.getKey();
     }
 
+    /**
+     * Immagini che la storia mostrera' a breve, nell'ordine in cui
+     * serviranno: l'immagine-evento del capitolo corrente e poi, per i
+     * capitoli successivi, quella del capitolo e il suo eventuale evento.
+     * L'ordine dei capitoli e' fisso, quindi la previsione e' esatta.
+     * @param chapters quanti capitoli successivi considerare
+     * @return chiavi delle immagini da preparare in anticipo
+     */
+    public List<String> getUpcomingImageKeys(int chapters) {
+        List<String> keys = new ArrayList<>();
+        if (currentChapter >= storyChapters.size()) {
+            return keys;
+        }
+        keys.add(storyChapters.get(currentChapter).getKey());
+        String currentEvent = CHAPTER_EVENT_IMAGES.get(storyChapters.get(currentChapter).getKey());
+        if (currentEvent != null) {
+            keys.add(currentEvent);
+        }
+        int last = Math.min(storyChapters.size() - 1, currentChapter + chapters);
+        for (int i = currentChapter + 1; i <= last; i++) {
+            String key = storyChapters.get(i).getKey();
+            keys.add(key);
+            String event = CHAPTER_EVENT_IMAGES.get(key);
+            if (event != null) {
+                keys.add(event);
+            }
+        }
+        return keys;
+    }
+
     /**
      * Chiave dell'immagine di scena da mostrare adesso: quella di un
      * evento appena accaduto (esplorazione, scoperte, esplosioni) se
@@ -1408,7 +1605,24 @@ public class GameEngine {
     // COMANDI SALVA / CARICA
     // ═══════════════════════════════════════════════════════════════
 
+    /**
+     * Abilita o disabilita i comandi salva e carica. Le partite ospitate
+     * in rete li disabilitano, cosi' un client remoto non puo' leggere ne'
+     * sovrascrivere i salvataggi dell'host o degli altri giocatori.
+     * @param enabled false per rifiutare salva e carica
+     */
+    public void setSavesEnabled(boolean enabled) {
+        this.savesEnabled = enabled;
+    }
+
+    private static String savesDisabledMessage() {
+        return "Salvataggi non disponibili nelle partite in rete.";
+    }
+
     private String saveGame(String slotName) {
+        if (!savesEnabled) {
+            return savesDisabledMessage();
+        }
         String safeSlotName = GameSave.sanitizeSlotName(slotName);
         if (safeSlotName.isEmpty()) {
             return "Nome salvataggio non valido.";
@@ -1423,6 +1637,9 @@ public class GameEngine {
     }
 
     private String loadGame(String slotName) {
+        if (!savesEnabled) {
+            return savesDisabledMessage();
+        }
         String safeSlotName = GameSave.sanitizeSlotName(slotName);
         if (safeSlotName.isEmpty()) {
             return "Nome salvataggio non valido.";
@@ -1442,6 +1659,9 @@ public class GameEngine {
     }
 
     private String listSaves() {
+        if (!savesEnabled) {
+            return savesDisabledMessage();
+        }
         List<GameSaveInstance> saves = GameSave.listSaves();
         if (saves.isEmpty()) {
             return "Nessun salvataggio trovato.\n" +
@@ -1560,6 +1780,7 @@ public class GameEngine {
         // Mini gioco resettato
         this.activeMiniGame = null;
         this.miniGameIntroShown = false;
+        publishStateChanges();
     }
 
     private String finalizeTurn(String response, boolean advanceTurn) {
@@ -0,0 +1,277 @@
+package com.lost.engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log di gioco a capacita' fissa: un buffer circolare su array paralleli
+ * (turno, tipo, testo) indicizzati da un numero di sequenza crescente.
+ * Superata la capacita' le voci piu' vecchie vengono sovrascritte, cosi'
+ * una partita lunga non accumula memoria senza limite.
+ *
+ * <p>Il testo non viene copiato: ogni voce conserva il riferimento alla
+ * stringa ricevuta, quindi le righe fisse dell'intro restano condivise
+ * tra tutte le partite.</p>
+ *
+ * <p>Facoltativamente ogni voce puo' essere accodata anche a un file di
+ * trascrizione; la scrittura avviene su un thread a parte e non rallenta
+ * il turno. Quel thread tiene aperto un writer per file e lo svuota solo
+ * quando non ha altre righe in coda, cosi' una raffica di voci costa una
+ * sola scrittura su disco. Le partite ospitate scrivono la trascrizione
+ * se la cartella e' indicata con {@code -Dlost.transcripts=...}.</p>
+ */
+public final class GameLog {
+
+    /** Capacita' predefinita, ampia per una partita intera. */
+    public static final int DEFAULT_CAPACITY = 256;
+    /** Proprieta' di sistema con la cartella delle trascrizioni delle partite ospitate. */
+    public static final String TRANSCRIPTS_PROPERTY = "lost.transcripts";
+    /** Trascrizioni aperte insieme al massimo; le meno recenti si chiudono e si riaprono in coda. */
+    private static final int MAX_OPEN_TRANSCRIPTS = 64;
+
+    /** Natura di una voce del log. */
+    public enum Type {
+        /** Testo introduttivo della partita. */
+        INTRO,
+        /** Presentazione di un capitolo. */
+        CHAPTER,
+        /** Evento improvviso (esplosioni, timer). */
+        EVENT
+    }
+
+    /**
+     * Voce del log restituita dalle interrogazioni.
+     * @param sequence numero progressivo della voce, da 0
+     * @param turn turno di gioco in cui e' stata scritta
+     * @param type natura della voce
+     * @param text testo della voce
+     */
+    public record Entry(long sequence, int turn, Type type, String text) {
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private static final BlockingQueue<Runnable> SPILL_QUEUE = new LinkedBlockingQueue<>();
+
+    /** Un solo thread per tutte le trascrizioni: l'ordine delle righe e' garantito. */
+    private static final ExecutorService SPILL = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        SPILL_QUEUE, r -> {
+            Thread thread = new Thread(r, "lost-transcript");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    /** Writer delle trascrizioni aperte, in ordine d'uso; li tocca solo il thread {@link #SPILL}. */
+    private static final Map<Path, BufferedWriter> WRITERS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, BufferedWriter> eldest) {
+            if (size() <= MAX_OPEN_TRANSCRIPTS) {
+                return false;
+            }
+            closeQuietly(eldest.getValue());
+            return true;
+        }
+    };
+
+    private final int[] turns;
+    private final byte[] types;
+    private final String[] texts;
+    private long nextSequence;
+    private volatile Path transcript;
+
+    /** Crea un log con la capacita' predefinita. */
+    public GameLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Crea un log con la capacita' indicata.
+     * @param capacity numero massimo di voci conservate
+     */
+    public GameLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacita' non valida: " + capacity);
+        }
+        this.turns = new int[capacity];
+        this.types = new byte[capacity];
+        this.texts = new String[capacity];
+    }
+
+    /**
+     * Aggiunge una voce, sovrascrivendo la piu' vecchia se il log e' pieno.
+     * @param turn turno di gioco corrente
+     * @param type natura della voce
+     * @param text testo della voce
+     */
+    public synchronized void append(int turn, Type type, String text) {
+        int slot = (int) (nextSequence % texts.length);
+        turns[slot] = turn;
+        types[slot] = (byte) type.ordinal();
+        texts[slot] = text;
+        nextSequence++;
+
+        Path file = transcript;
+        if (file != null) {
+            spill(file, turn, type, text);
+        }
+    }
+
+    /** {@return il numero di voci attualmente conservate} */
+    public synchronized int size() {
+        return (int) Math.min(nextSequence, texts.length);
+    }
+
+    /** {@return il numero di sequenza della voce piu' vecchia ancora presente} */
+    public synchronized long firstSequence() {
+        return nextSequence - size();
+    }
+
+    /** {@return il numero di sequenza che avra' la prossima voce} */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /** {@return l'ultima voce scritta, null se il log e' vuoto} */
+    public synchronized Entry last() {
+        return nextSequence == 0 ? null : entryAt(nextSequence - 1);
+    }
+
+    /**
+     * Restituisce le voci con sequenza compresa tra {@code from} (incluso)
+     * e {@code to} (escluso). Le voci gia' sovrascritte vengono saltate.
+     * @param from prima sequenza richiesta
+     * @param to sequenza successiva all'ultima richiesta
+     * @return le voci trovate, in ordine di scrittura
+     */
+    public synchronized List<Entry> range(long from, long to) {
+        long start = Math.max(from, firstSequence());
+        long end = Math.min(to, nextSequence);
+        if (start >= end) {
+            return Collections.emptyList();
+        }
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            entries.add(entryAt(seq));
+        }
+        return entries;
+    }
+
+    /**
+     * Restituisce le ultime voci scritte.
+     * @param count numero massimo di voci
+     * @return le voci piu' recenti, dalla piu' vecchia alla piu' nuova
+     */
+    public synchronized List<Entry> tail(int count) {
+        return range(nextSequence - count, nextSequence);
+    }
+
+    /** Svuota il log; la trascrizione eventuale resta attiva. */
+    public synchronized void clear() {
+        Arrays.fill(texts, null);
+        nextSequence = 0;
+    }
+
+    /**
+     * Attiva la trascrizione su file: le voci successive vengono accodate
+     * al file in modo asincrono. Con null la trascrizione si interrompe e
+     * il file precedente viene chiuso.
+     * @param file file di trascrizione, creato se non esiste
+     */
+    public void setTranscript(Path file) {
+        Path previous = transcript;
+        this.transcript = file;
+        if (previous != null && !previous.equals(file)) {
+            SPILL.execute(() -> closeQuietly(WRITERS.remove(previous)));
+        }
+    }
+
+    /**
+     * File di trascrizione di una partita ospitata, nella cartella indicata
+     * da {@value #TRANSCRIPTS_PROPERTY}.
+     * @param sessionId id della partita
+     * @return il file {@code <id>.log}, null se le trascrizioni sono spente
+     */
+    public static Path transcriptFor(String sessionId) {
+        String directory = System.getProperty(TRANSCRIPTS_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        return Paths.get(directory, sessionId + ".log");
+    }
+
+    private Entry entryAt(long sequence) {
+        int slot = (int) (sequence % texts.length);
+        return new Entry(sequence, turns[slot], TYPES[types[slot]], texts[slot]);
+    }
+
+    private static void spill(Path file, int turn, Type type, String text) {
+        SPILL.execute(() -> {
+            try {
+                BufferedWriter writer = WRITERS.get(file);
+                if (writer == null) {
+                    writer = open(file);
+                    WRITERS.put(file, writer);
+                }
+                writer.write("[" + turn + "] " + type + "\n" + text + "\n\n");
+            } catch (IOException e) {
+                System.out.println("Trascrizione non scritta: " + e.getMessage());
+                closeQuietly(WRITERS.remove(file));
+            }
+            // Coda vuota: fine della raffica, si scrive tutto in una volta
+            if (SPILL_QUEUE.isEmpty()) {
+                flushAll();
+            }
+        });
+    }
+
+    private static BufferedWriter open(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void flushAll() {
+        Iterator<BufferedWriter> iterator = WRITERS.values().iterator();
+        while (iterator.hasNext()) {
+            BufferedWriter writer = iterator.next();
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                System.out.println("Trascrizione non scritta: " + e.getMessage());
+                closeQuietly(writer);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void closeQuietly(BufferedWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Trascrizione non chiusa: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.lost.engine;
+
+import java.util.List;
+
+/**
+ * Osservatore dei cambiamenti di stato del {@link GameEngine}.
+ * Gli eventi arrivano solo quando il valore cambia davvero, alla fine
+ * del turno che lo ha modificato, e sul thread che ha eseguito il turno:
+ * chi aggiorna Swing deve rimbalzare sull'EDT.
+ * Tutti i metodi hanno un'implementazione vuota, cosi' si ridefinisce
+ * solo cio' che interessa.
+ */
+public interface GameStateListener {
+
+    /**
+     * Il giorno sull'isola e' cambiato.
+     * @param day nuovo giorno
+     */
+    default void dayChanged(int day) {
+    }
+
+    /**
+     * Il giocatore si trova in una stanza diversa.
+     * @param roomKey chiave della nuova stanza
+     */
+    default void roomChanged(String roomKey) {
+    }
+
+    /**
+     * L'inventario ha cambiato contenuto o ordine.
+     * @param itemNames nomi degli oggetti, lista immutabile
+     */
+    default void inventoryChanged(List<String> itemNames) {
+    }
+}
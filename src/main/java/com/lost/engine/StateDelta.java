@@ -0,0 +1,119 @@
+package com.lost.engine;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cosa e' cambiato nello stato della partita da una versione nota al
+ * client: solo i campi diversi, con i nomi del riassunto di stato
+ * dell'API. Se la versione del client e' troppo vecchia o sconosciuta
+ * il delta e' completo e contiene tutti i campi.
+ *
+ * <p>In JSON diventa {@code {"version":13,"full":false,"changes":{"room":"giungla"}}}:
+ * un turno tipico pesa qualche decina di byte invece dello stato intero.</p>
+ *
+ * @param version versione dello stato descritto, da rimandare alla richiesta successiva
+ * @param full true se il delta contiene tutti i campi
+ * @param changes campi cambiati e nuovi valori, nell'ordine del riassunto di stato
+ */
+public record StateDelta(long version, boolean full, Map<String, Object> changes) {
+
+    /**
+     * Confronta due snapshot.
+     * @param from stato noto al client, null se sconosciuto
+     * @param to stato corrente
+     * @return i campi di {@code to} diversi da {@code from}
+     */
+    public static StateDelta between(EngineSnapshot from, EngineSnapshot to) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        put(changes, from, to, "player", EngineSnapshot::playerName);
+        put(changes, from, to, "day", EngineSnapshot::daysOnIsland);
+        put(changes, from, to, "chapter", EngineSnapshot::chapterNumber);
+        put(changes, from, to, "totalChapters", EngineSnapshot::totalChapters);
+        put(changes, from, to, "chapterTitle", EngineSnapshot::chapterTitle);
+        put(changes, from, to, "room", EngineSnapshot::roomKey);
+        put(changes, from, to, "scene", EngineSnapshot::sceneImageKey);
+        put(changes, from, to, "upcomingImages", EngineSnapshot::upcomingImageKeys);
+        put(changes, from, to, "inventory", EngineSnapshot::inventory);
+        put(changes, from, to, "dynamiteTimer", EngineSnapshot::dynamiteTimer);
+        put(changes, from, to, "choices", EngineSnapshot::chapterHasChoices);
+        put(changes, from, to, "quickAnswer", EngineSnapshot::quickAnswerLabel);
+        put(changes, from, to, "miniGame", EngineSnapshot::miniGameButtonLabels);
+        put(changes, from, to, "running", EngineSnapshot::gameRunning);
+        put(changes, from, to, "won", EngineSnapshot::gameWon);
+        put(changes, from, to, "over", EngineSnapshot::gameOver);
+        return new StateDelta(to.version(), from == null, Collections.unmodifiableMap(changes));
+    }
+
+    private static void put(Map<String, Object> changes, EngineSnapshot from, EngineSnapshot to,
+                            String name, Function<EngineSnapshot, Object> field) {
+        Object after = field.apply(to);
+        if (from == null || !Objects.equals(field.apply(from), after)) {
+            changes.put(name, after);
+        }
+    }
+
+    /** {@return true se dalla versione del client non e' cambiato nulla} */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /** {@return il delta in JSON compatto, su una sola riga} */
+    public String toJson() {
+        StringWriter out = new StringWriter(32 + changes.size() * 24);
+        try (JsonWriter json = new JsonWriter(out)) {
+            write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Scrive il delta su un JsonWriter gia' aperto.
+     * @param json destinazione
+     * @throws IOException se la scrittura fallisce
+     */
+    public void write(JsonWriter json) throws IOException {
+        json.beginObject();
+        json.name("version").value(version);
+        json.name("full").value(full);
+        json.name("changes").beginObject();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            json.name(change.getKey());
+            writeValue(json, change.getValue());
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    private static void writeValue(JsonWriter json, Object value) throws IOException {
+        if (value == null) {
+            // Un campo diventato assente (mini gioco finito) arriva come null
+            json.nullValue();
+        } else if (value instanceof String text) {
+            json.value(text);
+        } else if (value instanceof Number number) {
+            json.value(number);
+        } else if (value instanceof Boolean flag) {
+            json.value(flag);
+        } else if (value instanceof List<?> list) {
+            json.beginArray();
+            for (Object item : list) {
+                writeValue(json, item);
+            }
+            json.endArray();
+        } else {
+            json.value(value.toString());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lost.events;
+
+/**
+ * Eventi tipizzati della partita, pubblicati dal motore sul
+ * {@link GameEventBus}. Sostituiscono le stringhe libere passate
+ * direttamente alla radio: ogni ascoltatore decide da se' come
+ * presentarli (testo radio, contatori, salvataggi...).
+ */
+public sealed interface GameEvent {
+
+    /**
+     * Inizio di un capitolo della storia.
+     * @param number numero del capitolo, a partire da 1
+     * @param total numero totale di capitoli
+     * @param title titolo del capitolo
+     */
+    record ChapterStarted(int number, int total, String title) implements GameEvent {
+    }
+
+    /**
+     * Il giocatore si e' spostato in un'altra stanza.
+     * @param playerName nome del giocatore
+     * @param roomKey chiave della stanza di arrivo
+     * @param roomName nome leggibile della stanza di arrivo
+     */
+    record PlayerMoved(String playerName, String roomKey, String roomName) implements GameEvent {
+    }
+
+    /**
+     * Il giocatore ha raccolto un oggetto.
+     * @param playerName nome del giocatore
+     * @param itemName nome dell'oggetto
+     */
+    record ItemTaken(String playerName, String itemName) implements GameEvent {
+    }
+
+    /** La botola e' stata aperta con la dinamite. */
+    record HatchOpened() implements GameEvent {
+    }
+
+    /**
+     * Il giocatore e' fuggito dall'isola: partita vinta.
+     * @param playerName nome del giocatore
+     */
+    record GameCompleted(String playerName) implements GameEvent {
+    }
+}
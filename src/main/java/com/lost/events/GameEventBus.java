@@ -0,0 +1,143 @@
+package com.lost.events;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bus publish/subscribe in-process per i {@link GameEvent}.
+ *
+ * <p>Pubblicare costa un accodamento non bloccante per ogni iscritto:
+ * il turno del motore non aspetta mai la radio o altri ascoltatori.
+ * Ogni iscritto ha la sua coda limitata e la consuma su un thread
+ * virtuale, un evento alla volta e nell'ordine di pubblicazione; un
+ * iscritto lento riempie solo la propria coda e gli eventi in eccesso
+ * vengono scartati e contati, senza rallentare gli altri.</p>
+ */
+public final class GameEventBus {
+
+    /** Capacita' predefinita della coda di ciascun iscritto. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private static final GameEventBus SHARED = new GameEventBus();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Executor drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** {@return il bus condiviso dal motore e dai servizi del gioco} */
+    public static GameEventBus shared() {
+        return SHARED;
+    }
+
+    /**
+     * Iscrive un ascoltatore con la capacita' di coda predefinita.
+     * @param name nome dell'iscritto, usato nei messaggi di errore
+     * @param handler codice eseguito per ogni evento
+     * @return l'iscrizione, da chiudere per smettere di ricevere
+     */
+    public Subscription subscribe(String name, Consumer<GameEvent> handler) {
+        return subscribe(name, DEFAULT_QUEUE_CAPACITY, handler);
+    }
+
+    /**
+     * Iscrive un ascoltatore con una coda della capacita' indicata.
+     * @param name nome dell'iscritto, usato nei messaggi di errore
+     * @param capacity numero massimo di eventi in attesa
+     * @param handler codice eseguito per ogni evento
+     * @return l'iscrizione, da chiudere per smettere di ricevere
+     */
+    public Subscription subscribe(String name, int capacity, Consumer<GameEvent> handler) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacita' non valida: " + capacity);
+        }
+        Subscription subscription = new Subscription(name, capacity, handler);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Pubblica un evento a tutti gli iscritti senza bloccare.
+     * @param event evento da consegnare
+     */
+    public void publish(GameEvent event) {
+        if (event == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Iscrizione di un ascoltatore: coda limitata piu' il suo consumatore.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final int capacity;
+        private final Consumer<GameEvent> handler;
+        private final Queue<GameEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscription(String name, int capacity, Consumer<GameEvent> handler) {
+            this.name = name;
+            this.capacity = capacity;
+            this.handler = handler;
+        }
+
+        /** {@return quanti eventi sono stati scartati a coda piena} */
+        public long droppedCount() {
+            return dropped.get();
+        }
+
+        /** Smette di ricevere eventi; quelli gia' in coda vanno persi. */
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            queue.clear();
+        }
+
+        private void offer(GameEvent event) {
+            // Prenota un posto: se la coda e' piena l'evento si scarta
+            if (pending.incrementAndGet() > capacity) {
+                pending.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+            queue.offer(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            // Un solo consumatore per volta: l'ordine degli eventi e' garantito
+            if (draining.compareAndSet(false, true)) {
+                drainExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            GameEvent event;
+            while ((event = queue.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    System.out.println("Ascoltatore '" + name + "' in errore: " + e.getMessage());
+                }
+            }
+            draining.set(false);
+            // Un evento arrivato tra l'ultimo poll e il rilascio va consumato
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.lost.graphics;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pacchetto di immagini pre-scalate prodotto in fase di build da
+ * {@link AssetPackBuilder}. Il file viene mappato in memoria con
+ * {@link FileChannel#map}: caricare un'immagine significa copiare i suoi
+ * pixel BGR gia' pronti in un raster, senza decodificare JPEG o PNG.
+ *
+ * <p>Formato: intestazione {@code LOSTPAK1}, numero di voci, indice
+ * (nome file, larghezza, altezza, offset) e di seguito i pixel grezzi,
+ * tre byte per pixel nell'ordine di {@link BufferedImage#TYPE_3BYTE_BGR}.</p>
+ *
+ * <p>Il pacchetto e' facoltativo: se manca o non e' valido il gioco
+ * decodifica le immagini dal classpath come sempre.</p>
+ */
+public final class AssetPack {
+
+    /** Proprieta' di sistema con il percorso del pacchetto. */
+    public static final String PATH_PROPERTY = "lost.assetPack";
+    /** Percorso predefinito, relativo alla cartella del progetto. */
+    public static final String DEFAULT_PATH = "target/lost-assets.pack";
+
+    static final byte[] MAGIC = "LOSTPAK1".getBytes(StandardCharsets.US_ASCII);
+
+    /** Una misura di un'immagine dentro il pacchetto. */
+    private record Tile(int width, int height, int offset) {
+    }
+
+    private static AssetPack shared;
+    private static boolean sharedOpened;
+
+    private final MappedByteBuffer data;
+    private final Map<String, List<Tile>> tiles;
+
+    private AssetPack(MappedByteBuffer data, Map<String, List<Tile>> tiles) {
+        this.data = data;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Pacchetto indicato da {@value #PATH_PROPERTY}, aperto una sola volta.
+     * @return il pacchetto, null se non disponibile
+     */
+    public static synchronized AssetPack shared() {
+        if (!sharedOpened) {
+            sharedOpened = true;
+            shared = open(Path.of(System.getProperty(PATH_PROPERTY, DEFAULT_PATH)));
+        }
+        return shared;
+    }
+
+    /**
+     * Mappa in memoria un pacchetto e ne legge l'indice.
+     * @param file percorso del pacchetto
+     * @return il pacchetto, null se il file manca o non e' valido
+     */
+    public static AssetPack open(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // La mappatura resta valida anche dopo la chiusura del canale
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            data.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                System.out.println("Pacchetto immagini non valido: " + file);
+                return null;
+            }
+            int count = data.getInt();
+            Map<String, List<Tile>> tiles = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[data.getShort()];
+                data.get(name);
+                Tile tile = new Tile(data.getInt(), data.getInt(), data.getInt());
+                tiles.computeIfAbsent(new String(name, StandardCharsets.UTF_8), k -> new ArrayList<>())
+                    .add(tile);
+            }
+            System.out.println(" Pacchetto immagini: " + file + " (" + count + " voci)");
+            return new AssetPack(data, tiles);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Pacchetto immagini non letto: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Immagine di un file alla misura piu' piccola del pacchetto che sia
+     * almeno grande quanto quella richiesta.
+     * @param filename nome del file nella cartella images
+     * @param width larghezza minima
+     * @param height altezza minima
+     * @return l'immagine copiata dal pacchetto, null se nessuna misura basta
+     */
+    public BufferedImage bestFor(String filename, int width, int height) {
+        Tile best = null;
+        for (Tile tile : tiles.getOrDefault(filename, List.of())) {
+            if (tile.width() >= width && tile.height() >= height
+                    && (best == null || tile.width() * tile.height() < best.width() * best.height())) {
+                best = tile;
+            }
+        }
+        return best == null ? null : read(best);
+    }
+
+    private BufferedImage read(Tile tile) {
+        BufferedImage image = new BufferedImage(tile.width(), tile.height(), BufferedImage.TYPE_3BYTE_BGR);
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        // slice assoluto: nessuna posizione condivisa, sicuro tra thread
+        ByteBuffer region = data.slice(tile.offset(), pixels.length);
+        region.get(pixels);
+        return image;
+    }
+}
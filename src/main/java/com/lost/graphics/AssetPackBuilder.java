@@ -0,0 +1,131 @@
+package com.lost.graphics;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Strumento di build che produce il pacchetto di immagini pre-scalate
+ * letto da {@link AssetPack}. Per ogni file usato da
+ * {@link PixelArtManager} salva i pixel alle misure che l'immagine della
+ * location assume a schermo intero sulle risoluzioni piu' comuni.
+ *
+ * <p>Uso: {@code AssetPackBuilder <file di uscita> [LxA ...]}, dove le
+ * misure opzionali sono risoluzioni dello schermo (default 1366x768 e
+ * 1920x1080). Si avvia con {@code ./scripts/pack-assets.sh} oppure con
+ * {@code mvn -Passet-pack package}.</p>
+ */
+public final class AssetPackBuilder {
+
+    /** Risoluzioni dello schermo predefinite. */
+    private static final String[] DEFAULT_SCREENS = {"1366x768", "1920x1080"};
+    /** Spazio che la finestra riserva ai bottoni sotto l'area di gioco. */
+    private static final int BUTTON_BAR_HEIGHT = 70;
+
+    private AssetPackBuilder() {
+    }
+
+    /**
+     * Genera il pacchetto.
+     * @param args file di uscita seguito dalle risoluzioni facoltative
+     * @throws IOException se il pacchetto non puo' essere scritto
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: AssetPackBuilder <file di uscita> [LxA ...]");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        String[] screens = args.length > 1
+            ? Arrays.copyOfRange(args, 1, args.length) : DEFAULT_SCREENS;
+
+        List<Dimension> sizes = new ArrayList<>();
+        for (String screen : screens) {
+            String[] parts = screen.toLowerCase().split("x");
+            Dimension size = FullScreenRenderer.imageSize(Integer.parseInt(parts[0]),
+                Integer.parseInt(parts[1]) - BUTTON_BAR_HEIGHT);
+            if (!sizes.contains(size)) {
+                sizes.add(size);
+            }
+        }
+
+        long start = System.nanoTime();
+        int written = write(output, sizes);
+        System.out.printf("Pacchetto %s: %d immagini, %d MB, %d ms%n", output, written,
+            Files.size(output) >> 20, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Scrive il pacchetto con tutte le immagini alle misure indicate.
+     * @param output file di uscita
+     * @param sizes misure delle immagini da includere
+     * @return numero di voci scritte
+     * @throws IOException se il file non puo' essere scritto
+     */
+    static int write(Path output, List<Dimension> sizes) throws IOException {
+        // Prima si decodifica tutto: l'indice, in testa, deve conoscere gli offset
+        List<String> names = new ArrayList<>();
+        List<BufferedImage> images = new ArrayList<>();
+        for (String filename : PixelArtManager.imageFilenames()) {
+            for (Dimension size : sizes) {
+                BufferedImage scaled = PixelArtManager.loadImageFromFile(filename, size.width, size.height);
+                if (scaled != null) {
+                    names.add(filename);
+                    images.add(toBgr(scaled));
+                }
+            }
+        }
+
+        long offset = AssetPack.MAGIC.length + Integer.BYTES;
+        for (String name : names) {
+            offset += Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length + 3 * Integer.BYTES;
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream file = Files.newOutputStream(output);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.write(AssetPack.MAGIC);
+            out.writeInt(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+                BufferedImage image = images.get(i);
+                if (offset > Integer.MAX_VALUE) {
+                    throw new IOException("pacchetto oltre i 2 GB: ridurre le misure");
+                }
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(image.getWidth());
+                out.writeInt(image.getHeight());
+                out.writeInt((int) offset);
+                offset += (long) image.getWidth() * image.getHeight() * 3;
+            }
+            for (BufferedImage image : images) {
+                out.write(((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+            }
+        }
+        return names.size();
+    }
+
+    private static BufferedImage toBgr(BufferedImage source) {
+        BufferedImage bgr = new BufferedImage(source.getWidth(), source.getHeight(),
+            BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = bgr.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return bgr;
+    }
+}
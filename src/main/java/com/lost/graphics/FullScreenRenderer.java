@@ -16,7 +16,9 @@ public class FullScreenRenderer {
 
     private int screenWidth;
     private int screenHeight;
-    private PixelArtManager pixelArtManager;
+    private final PixelArtManager pixelArtManager;
+    /** Avvisato quando le immagini riscalate sono pronte da ridisegnare. */
+    private Runnable imagesRescaledListener;
 
     // Layout
     private int imageWidth;
@@ -40,6 +42,25 @@ public class FullScreenRenderer {
     /** Colore per le evidenziazioni. */
     public static final Color HIGHLIGHT_COLOR = new Color(100, 200, 100);
 
+    private static final Color DAY_COLOR = new Color(255, 220, 100);
+    private static final Color LOCATION_COLOR = new Color(150, 200, 150);
+    private static final Color INSTRUCTIONS_COLOR = new Color(120, 120, 120);
+    private static final Color LOGO_COLOR = new Color(50, 60, 50);
+    private static final int STATUS_TEXT_WIDTH = 600;
+    private static final Font STATUS_FONT = GameFonts.retroBold(20f);
+    private static final Font INSTRUCTIONS_FONT = GameFonts.retroPlain(15f);
+    private static final Font LOGO_FONT = GameFonts.retroBold(18f);
+
+    // Livelli pre-disegnati: si ridisegnano solo quando cambia cio' che mostrano
+    /** Sfondo, cornici, box del testo, barra di stato e logo: cambia col layout. */
+    private BufferedImage chromeLayer;
+    /** Giorno e location della barra di stato: cambia con lo stato. */
+    private BufferedImage statusLayer;
+    private String statusLayerText;
+    /** Immagine di scena gia' convertita nel formato dello schermo. */
+    private BufferedImage sceneLayer;
+    private BufferedImage sceneLayerSource;
+
     /**
      * Crea il renderer e calcola il layout iniziale.
      * @param width larghezza dello schermo in pixel
@@ -54,6 +75,17 @@ public class FullScreenRenderer {
         this.pixelArtManager = new PixelArtManager(imageWidth, imageHeight);
     }
 
+    /**
+     * Testo della barra di stato, uguale per la finestra e per i
+     * fotogrammi renderizzati dal server.
+     * @param day giorno sull'isola
+     * @param location chiave della location corrente
+     * @return per esempio "Giorno 3 | GIUNGLA"
+     */
+    public static String statusText(int day, String location) {
+        return "Giorno " + day + " | " + (location == null ? "" : location.toUpperCase());
+    }
+
     /**
      * Disegna la schermata di gioco: sfondo, immagine della location,
      * box del testo, barra di stato e logo.
@@ -61,34 +93,92 @@ public class FullScreenRenderer {
      * @param locationKey chiave dell'immagine da mostrare
      * @param statusInfo testo della barra di stato
      */
-    public void render(Graphics2D g, String locationKey, String statusInfo) {
-        // Sfondo
-        g.setColor(BACKGROUND_COLOR);
-        g.fillRect(0, 0, screenWidth, screenHeight);
+    public synchronized void render(Graphics2D g, String locationKey, String statusInfo) {
+        // Il frame e' la composizione di tre livelli gia' pronti: a regime
+        // ogni repaint costa tre copie di immagini compatibili con lo schermo.
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+
+        if (chromeLayer == null) {
+            chromeLayer = buildChromeLayer(gc);
+        }
+        g.drawImage(chromeLayer, 0, 0, null);
 
-        // Immagine della location
         BufferedImage locationImage = pixelArtManager.getImage(locationKey);
         if (locationImage != null) {
-            int imgX = (screenWidth - imageWidth) / 2;
-            int imgY = IMAGE_TOP_MARGIN;
+            if (locationImage != sceneLayerSource) {
+                sceneLayer = toCompatible(gc, locationImage, imageWidth, imageHeight);
+                sceneLayerSource = locationImage;
+            }
+            g.drawImage(sceneLayer, (screenWidth - imageWidth) / 2, IMAGE_TOP_MARGIN, null);
+        }
 
-            // Bordo immagine
-            g.setColor(BORDER_COLOR);
-            g.setStroke(new BasicStroke(3));
-            g.drawRect(imgX - 3, imgY - 3, imageWidth + 6, imageHeight + 6);
+        String status = statusInfo == null ? "" : statusInfo;
+        if (statusLayer == null || !status.equals(statusLayerText)) {
+            statusLayer = buildStatusLayer(gc, status);
+            statusLayerText = status;
+        }
+        g.drawImage(statusLayer, 0, screenHeight - STATUS_BAR_HEIGHT, null);
+    }
 
-            // Immagine
-            g.drawImage(locationImage, imgX, imgY, imageWidth, imageHeight, null);
+    /**
+     * Disegna sopra la scena corrente un'altra immagine di location in
+     * trasparenza: serve alle dissolvenze tra una scena e la successiva.
+     * @param g contesto grafico su cui disegnare
+     * @param locationKey chiave dell'immagine da sovrapporre
+     * @param alpha opacita' da 0 (invisibile) a 1 (piena)
+     */
+    public synchronized void renderSceneOverlay(Graphics2D g, String locationKey, float alpha) {
+        BufferedImage image = pixelArtManager.getImage(locationKey);
+        if (image == null || alpha <= 0f) {
+            return;
         }
+        Composite previous = g.getComposite();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.min(1f, alpha)));
+        g.drawImage(image, (screenWidth - imageWidth) / 2, IMAGE_TOP_MARGIN, imageWidth, imageHeight, null);
+        g.setComposite(previous);
+    }
+
+    /** Disegna una volta le parti che dipendono solo dal layout. */
+    private BufferedImage buildChromeLayer(GraphicsConfiguration gc) {
+        BufferedImage layer = gc.createCompatibleImage(Math.max(1, screenWidth), Math.max(1, screenHeight));
+        Graphics2D g = layer.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // Sfondo
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(0, 0, screenWidth, screenHeight);
+
+        // Bordo dell'immagine della location
+        int imgX = (screenWidth - imageWidth) / 2;
+        g.setColor(BORDER_COLOR);
+        g.setStroke(new BasicStroke(3));
+        g.drawRect(imgX - 3, IMAGE_TOP_MARGIN - 3, imageWidth + 6, imageHeight + 6);
 
         // Box del testo (solo sfondo + bordo, il testo lo fa JTextPane)
         renderTextBox(g);
 
-        // Barra di stato in basso
-        renderStatusBar(g, statusInfo);
+        // Barra di stato in basso, senza giorno e location
+        renderStatusBarChrome(g);
 
         // Logo LOST in alto
         renderLogo(g);
+        g.dispose();
+        return layer;
+    }
+
+    /**
+     * Copia un'immagine in un'immagine compatibile con lo schermo, gia'
+     * alla misura di destinazione: il repaint diventa una copia 1:1.
+     */
+    private static BufferedImage toCompatible(GraphicsConfiguration gc, BufferedImage source,
+                                              int width, int height) {
+        BufferedImage compatible = gc.createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        Graphics2D g = compatible.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return compatible;
     }
 
     private void renderTextBox(Graphics2D g) {
@@ -106,11 +196,12 @@ public class FullScreenRenderer {
 
     /**
      * Ricalcola il layout dopo un ridimensionamento della finestra.
-     * Se le dimensioni dell'immagine cambiano, ricarica le immagini.
+     * Se le dimensioni dell'immagine cambiano, chiede al gestore le
+     * varianti alla nuova misura, preparate in background.
      * @param width nuova larghezza in pixel
      * @param height nuova altezza in pixel
      */
-    public void updateLayout(int width, int height) {
+    public synchronized void updateLayout(int width, int height) {
         int oldImageWidth = imageWidth;
         int oldImageHeight = imageHeight;
 
@@ -119,17 +210,34 @@ public class FullScreenRenderer {
 
         calculateLayout(width, height);
 
+        // Layout nuovo: i livelli si ridisegnano al prossimo repaint
+        chromeLayer = null;
+        statusLayer = null;
+        sceneLayerSource = null;
+
         if (oldImageWidth != imageWidth || oldImageHeight != imageHeight) {
-            this.pixelArtManager = new PixelArtManager(imageWidth, imageHeight);
+            // Niente ricaricamento: le varianti si preparano in background
+            pixelArtManager.resize(imageWidth, imageHeight, imagesRescaledListener);
         }
     }
 
-    private void calculateLayout(int width, int height) {
-        this.imageWidth = (int) (width * 0.9);
+    /**
+     * Dimensione dell'immagine della location per un'area di gioco.
+     * @param width larghezza dell'area in pixel
+     * @param height altezza dell'area in pixel
+     * @return larghezza e altezza dell'immagine
+     */
+    public static Dimension imageSize(int width, int height) {
         int maxImageHeight = height - IMAGE_TOP_MARGIN - IMAGE_TEXT_GAP -
             MIN_TEXT_BOX_HEIGHT - STATUS_BAR_HEIGHT - BOTTOM_MARGIN;
-        this.imageHeight = Math.min(Math.max(180, (int) (height * 0.45)),
-            Math.max(180, maxImageHeight));
+        return new Dimension((int) (width * 0.9),
+            Math.min(Math.max(180, (int) (height * 0.45)), Math.max(180, maxImageHeight)));
+    }
+
+    private void calculateLayout(int width, int height) {
+        Dimension image = imageSize(width, height);
+        this.imageWidth = image.width;
+        this.imageHeight = image.height;
 
         this.textBoxWidth = (int) (width * 0.9);
         int availableTextHeight = height - IMAGE_TOP_MARGIN - imageHeight -
@@ -140,23 +248,32 @@ public class FullScreenRenderer {
         this.textBoxY = IMAGE_TOP_MARGIN + imageHeight + IMAGE_TEXT_GAP;
     }
 
-    private void renderStatusBar(Graphics2D g, String statusInfo) {
-        int barHeight = 50;
-        int barY = screenHeight - barHeight;
+    private void renderStatusBarChrome(Graphics2D g) {
+        int barY = screenHeight - STATUS_BAR_HEIGHT;
 
         // Sfondo barra
         g.setColor(Color.BLACK);
-        g.fillRect(0, barY, screenWidth, barHeight);
+        g.fillRect(0, barY, screenWidth, STATUS_BAR_HEIGHT);
 
         // Linea superiore
         g.setColor(BORDER_COLOR);
         g.drawLine(0, barY, screenWidth, barY);
 
+        // === ISTRUZIONI ===
+        g.setFont(INSTRUCTIONS_FONT);
+        String instructions = "[A/B/C] Scegli | [INVIO] Avanti";
+        int instWidth = GameFonts.metrics(INSTRUCTIONS_FONT).stringWidth(instructions);
+        g.setColor(INSTRUCTIONS_COLOR);
+        g.drawString(instructions, screenWidth - instWidth - 15, barY + 20);
+    }
+
+    /** Livello trasparente con giorno e location, rifatto solo quando cambiano. */
+    private BufferedImage buildStatusLayer(GraphicsConfiguration gc, String statusInfo) {
         // Formato: "Giorno 1 | SPIAGGIA"
         int day = 1;
         String location = "";
 
-        if (statusInfo != null && !statusInfo.isEmpty()) {
+        if (!statusInfo.isEmpty()) {
             String[] parts = statusInfo.split("\\|");
             if (parts.length >= 2) {
                 day = parseFirstNumber(parts[0], day);
@@ -164,27 +281,33 @@ public class FullScreenRenderer {
             }
         }
 
-        // === GIORNO E LOCATION ===
-        g.setFont(GameFonts.retroBold(20f));
-        g.setColor(new Color(255, 220, 100));
-        g.drawString("Giorno " + day, 20, barY + 22);
-
-        g.setColor(new Color(150, 200, 150));
-        g.drawString(location, 150, barY + 22);
+        // Si riusa l'immagine del giorno prima, svuotata: niente allocazioni a ogni cambio
+        int width = Math.max(1, Math.min(STATUS_TEXT_WIDTH, screenWidth));
+        BufferedImage layer = statusLayer;
+        if (layer == null || layer.getWidth() != width) {
+            layer = gc.createCompatibleImage(width, STATUS_BAR_HEIGHT, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = layer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, STATUS_BAR_HEIGHT);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
-        // === ISTRUZIONI ===
-        g.setFont(GameFonts.retroPlain(15f));
-        String instructions = "[A/B/C] Scegli | [INVIO] Avanti";
-        FontMetrics fm = g.getFontMetrics();
-        int instWidth = fm.stringWidth(instructions);
-        g.setColor(new Color(120, 120, 120));
-        g.drawString(instructions, screenWidth - instWidth - 15, barY + 20);
+        // === GIORNO E LOCATION ===
+        g.setFont(STATUS_FONT);
+        g.setColor(DAY_COLOR);
+        g.drawString("Giorno " + day, 20, 22);
+
+        g.setColor(LOCATION_COLOR);
+        g.drawString(location, 150, 22);
+        g.dispose();
+        return layer;
     }
 
     private void renderLogo(Graphics2D g) {
         // Logo "LOST" stilizzato
-        g.setColor(new Color(50, 60, 50));
-        g.setFont(GameFonts.retroBold(18f));
+        g.setColor(LOGO_COLOR);
+        g.setFont(LOGO_FONT);
         g.drawString("LOST", 10, 15);
     }
 
@@ -201,6 +324,15 @@ public class FullScreenRenderer {
         }
     }
 
+    /**
+     * Imposta chi avvisare quando le immagini riscalate dopo un
+     * ridimensionamento sono pronte. Viene eseguito fuori dall'EDT.
+     * @param listener azione da eseguire, di solito un repaint
+     */
+    public void setImagesRescaledListener(Runnable listener) {
+        this.imagesRescaledListener = listener;
+    }
+
     /** {@return il gestore delle immagini pixel art} */
     public PixelArtManager getPixelArtManager() {
         return pixelArtManager;
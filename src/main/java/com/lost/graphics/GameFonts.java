@@ -1,16 +1,42 @@
 package com.lost.graphics;
 
 import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
 import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Carica il font retro del gioco da classpath e offre fallback sicuri.
+ * I font derivati e le loro metriche restano in cache: chi li chiede
+ * dentro un paint non rifa' deriveFont e non svuota le cache dei glifi.
  */
 public final class GameFonts {
     private static final String FONT_RESOURCE = "/fonts/VT323-Regular.ttf";
     private static final Font BASE_FONT = loadBaseFont();
 
+    /** Chiave della cache: stile AWT e dimensione in punti. */
+    private record Key(int style, float size) {
+    }
+
+    private static final Map<Key, Font> FONTS = new ConcurrentHashMap<>();
+    private static final Map<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
+    /** Contesto di misura con antialiasing, come i paint del gioco. */
+    private static final Graphics2D MEASURE = createMeasureGraphics();
+
+    static {
+        // Dimensioni usate a ogni frame da renderer e placeholder
+        metrics(retroBold(20f));
+        metrics(retroPlain(15f));
+        metrics(retroBold(18f));
+        metrics(retroBold(30f));
+        metrics(retroPlain(20f));
+    }
+
     private GameFonts() {
     }
 
@@ -21,7 +47,7 @@ public final class GameFonts {
      * @return font derivato
      */
     public static Font retro(int style, float size) {
-        return BASE_FONT.deriveFont(style, size);
+        return FONTS.computeIfAbsent(new Key(style, size), key -> BASE_FONT.deriveFont(style, size));
     }
 
     /**
@@ -42,6 +68,27 @@ public final class GameFonts {
         return retro(Font.BOLD, size);
     }
 
+    /**
+     * Metriche di un font, calcolate una volta con antialiasing attivo.
+     * @param font font da misurare, di solito ottenuto da questa classe
+     * @return metriche del font
+     */
+    public static FontMetrics metrics(Font font) {
+        FontMetrics cached = METRICS.get(font);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (MEASURE) {
+            return METRICS.computeIfAbsent(font, MEASURE::getFontMetrics);
+        }
+    }
+
+    private static Graphics2D createMeasureGraphics() {
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g;
+    }
+
     private static Font loadBaseFont() {
         try (InputStream input = GameFonts.class.getResourceAsStream(FONT_RESOURCE)) {
             if (input != null) {
@@ -0,0 +1,73 @@
+package com.lost.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Testo rasterizzato una volta sola in un'immagine trasparente. Le
+ * animazioni che cambiano solo l'opacita' di una scritta (il titolo
+ * dell'intro) copiano l'immagine con un AlphaComposite invece di
+ * ridisegnare i glifi a ogni frame.
+ *
+ * @param image glifi su sfondo trasparente, compatibili con lo schermo
+ * @param ascent distanza tra il bordo superiore e la linea di base
+ */
+public record GlyphLayer(BufferedImage image, int ascent) {
+
+    /**
+     * Rasterizza il testo con antialiasing.
+     * @param text testo da disegnare
+     * @param font font dei glifi
+     * @param color colore dei glifi
+     * @param gc configurazione dello schermo di destinazione
+     * @return il livello pronto da comporre
+     */
+    public static GlyphLayer render(String text, Font font, Color color, GraphicsConfiguration gc) {
+        BufferedImage probe = gc.createCompatibleImage(1, 1, Transparency.TRANSLUCENT);
+        Graphics2D pg = probe.createGraphics();
+        FontMetrics fm = pg.getFontMetrics(font);
+        pg.dispose();
+
+        int width = Math.max(1, fm.stringWidth(text));
+        int height = Math.max(1, fm.getAscent() + fm.getDescent());
+        BufferedImage image = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+        g.drawString(text, 0, fm.getAscent());
+        g.dispose();
+        return new GlyphLayer(image, fm.getAscent());
+    }
+
+    /** {@return la larghezza del testo in pixel} */
+    public int width() {
+        return image.getWidth();
+    }
+
+    /**
+     * Compone il testo con l'opacita' richiesta.
+     * @param g contesto grafico di destinazione
+     * @param x bordo sinistro del testo
+     * @param baseline linea di base, come in {@code drawString}
+     * @param alpha opacita' da 0 a 1
+     */
+    public void draw(Graphics2D g, int x, int baseline, float alpha) {
+        if (alpha <= 0f) {
+            return;
+        }
+        Composite previous = g.getComposite();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.min(1f, alpha)));
+        g.drawImage(image, x, baseline - ascent, null);
+        g.setComposite(previous);
+    }
+}
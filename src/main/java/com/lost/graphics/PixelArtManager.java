@@ -4,19 +4,86 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /**
  * Manager per il caricamento e la gestione delle immagini del gioco.
  * Carica le immagini da src/main/resources/images tramite classpath.
+ *
+ * <p>La cache e' indicizzata per file e dimensione: piu' chiavi di
+ * location che puntano allo stesso file (ad esempio "giungla",
+ * "risveglio" ed "esplorazione") sono solo alias e condividono una
+ * sola copia decodificata.</p>
+ *
+ * <p>I file vengono decodificati alla prima richiesta, o in anticipo con
+ * {@link #prefetch}, una sola volta alla dimensione di partenza (la
+ * "sorgente"): chi chiede un file mentre un altro thread lo sta gia'
+ * decodificando aspetta quella decodifica invece di ripeterla. Dopo le
+ * immagini previste, il thread di riscalatura prepara a una a una anche
+ * le altre, cosi' nessuna scena fuori previsione si decodifica
+ * sull'EDT.</p>
+ *
+ * <p>Quando la finestra cambia misura, le varianti alla nuova dimensione
+ * vengono ricavate dalle sorgenti su un thread a parte, dopo una breve
+ * pausa senza altri ridimensionamenti. Nel frattempo {@link #getImage}
+ * restituisce la sorgente, che chi disegna adatta all'area; a
+ * riscalatura finita restano in cache solo le sorgenti e le varianti
+ * della misura nuova.</p>
  */
 public class PixelArtManager {
 
-    private Map<String, BufferedImage> imageCache;
-    private int imageWidth;
-    private int imageHeight;
+    /**
+     * Chiave della cache: file sorgente piu' dimensione di destinazione.
+     * @param filename nome del file nella cartella images
+     * @param width larghezza di destinazione
+     * @param height altezza di destinazione
+     */
+    private record ImageKey(String filename, int width, int height) {
+    }
+
+    /** Attesa senza ridimensionamenti prima di riscalare le immagini. */
+    private static final long RESCALE_DEBOUNCE_MS = 150;
+
+    /** Thread condiviso per le riscalature in background. */
+    private static final ScheduledExecutorService SCALER =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lost-image-scaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final Map<ImageKey, BufferedImage> decodedImages;
+    /** Decodifiche in corso, da attendere invece di ripeterle. */
+    private final Map<ImageKey, CompletableFuture<BufferedImage>> pendingImages = new ConcurrentHashMap<>();
+    private final AtomicBoolean backgroundPreloadStarted = new AtomicBoolean();
+    /** Immagini senza file: placeholder e immagini aggiunte a mano. */
+    private final Map<String, BufferedImage> extraImages;
+    /** Dimensione a cui vengono decodificate le sorgenti. */
+    private final int sourceWidth;
+    private final int sourceHeight;
+    /** Dimensione di destinazione corrente, cambia con la finestra. */
+    private volatile int imageWidth;
+    private volatile int imageHeight;
+    private ScheduledFuture<?> pendingRescale;
 
     // Mappatura location -> nome file immagine
     private static final Map<String, String> IMAGE_FILES = new HashMap<>();
@@ -102,43 +169,286 @@ public class PixelArtManager {
     }
 
     /**
-     * Crea il gestore e pre-carica le immagini disponibili.
+     * Crea il gestore. Nessuna immagine viene decodificata subito: le
+     * scene arrivano su richiesta o tramite {@link #prefetch}.
      * @param width larghezza di destinazione delle immagini
      * @param height altezza di destinazione delle immagini
      */
     public PixelArtManager(int width, int height) {
+        this.sourceWidth = width;
+        this.sourceHeight = height;
         this.imageWidth = width;
         this.imageHeight = height;
-        this.imageCache = new HashMap<>();
-
-        // Pre-carica le immagini esistenti
-        preloadImages();
+        this.decodedImages = new ConcurrentHashMap<>();
+        this.extraImages = new ConcurrentHashMap<>();
     }
 
     /**
      * Pre-carica tutte le immagini disponibili
      */
     private void preloadImages() {
-        for (Map.Entry<String, String> entry : IMAGE_FILES.entrySet()) {
-            String key = entry.getKey();
-            String filename = entry.getValue();
-            BufferedImage img = loadImageFromFile(filename);
-            if (img != null) {
-                imageCache.put(key, img);
+        // Ogni file una volta sola, anche se piu' location lo usano
+        Set<String> filenames = new LinkedHashSet<>(IMAGE_FILES.values());
+        for (String filename : filenames) {
+            decodedImage(filename);
+        }
+        System.out.println(" Caricate " + decodedImages.size() + " immagini dal classpath");
+    }
+
+    /**
+     * Immagine di un file da mostrare ora: la variante alla dimensione
+     * corrente se gia' pronta, altrimenti la sorgente, caricata alla prima
+     * richiesta e poi condivisa tra gli alias.
+     */
+    private BufferedImage decodedImage(String filename) {
+        int width = imageWidth;
+        int height = imageHeight;
+        if (width == sourceWidth && height == sourceHeight) {
+            return sourceImage(filename);
+        }
+        BufferedImage variant = decodedImages.get(new ImageKey(filename, width, height));
+        if (variant != null) {
+            return variant;
+        }
+        if (rescalePending()) {
+            // Ridimensionamento in corso: basta la sorgente, la variante arriva
+            return sourceImage(filename);
+        }
+        // File mai visto prima alla misura attuale: una sola riduzione
+        BufferedImage prepared = ensureImage(filename, width, height);
+        return prepared != null ? prepared : sourceImage(filename);
+    }
+
+    private synchronized boolean rescalePending() {
+        return pendingRescale != null && !pendingRescale.isDone();
+    }
+
+    /**
+     * Prepara in background le immagini indicate alla misura corrente,
+     * cosi' che mostrarle dopo non richieda nessuna decodifica.
+     * Le chiavi sconosciute o gia' pronte vengono ignorate.
+     * @param locationKeys chiavi delle immagini che serviranno a breve
+     */
+    public void prefetch(Collection<String> locationKeys) {
+        List<String> filenames = new ArrayList<>();
+        for (String key : locationKeys) {
+            String filename = IMAGE_FILES.get(key);
+            if (filename != null && !filenames.contains(filename)) {
+                filenames.add(filename);
+            }
+        }
+        if (!filenames.isEmpty()) {
+            SCALER.execute(() -> {
+                for (String filename : filenames) {
+                    ensureImage(filename, imageWidth, imageHeight);
+                }
+            });
+        }
+        preloadRestInBackground();
+    }
+
+    /**
+     * Alla prima richiesta di prefetch accoda anche tutti gli altri file,
+     * uno per volta: le immagini che la previsione non copre (stanze,
+     * scoperte, oggetti) sono pronte senza bloccare l'EDT, e i prefetch
+     * successivi si inseriscono tra un file e l'altro senza aspettare la
+     * fine del giro.
+     */
+    private void preloadRestInBackground() {
+        if (!backgroundPreloadStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Iterator<String> remaining = imageFilenames().iterator();
+        SCALER.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (remaining.hasNext()) {
+                    ensureImage(remaining.next(), imageWidth, imageHeight);
+                    SCALER.execute(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Immagine di un file alla misura indicata, creata se manca: dalla
+     * sorgente se la misura e' piu' piccola, altrimenti dal file.
+     */
+    private BufferedImage ensureImage(String filename, int width, int height) {
+        if (width == sourceWidth && height == sourceHeight) {
+            return sourceImage(filename);
+        }
+        return cached(new ImageKey(filename, width, height), () -> {
+            if (width <= sourceWidth && height <= sourceHeight) {
+                BufferedImage source = sourceImage(filename);
+                return source == null ? null : scaleDown(source, width, height);
+            }
+            // Piu' grande della sorgente: meglio ripartire dal file
+            return loadImageFromFile(filename, width, height);
+        });
+    }
+
+    private BufferedImage sourceImage(String filename) {
+        return cached(new ImageKey(filename, sourceWidth, sourceHeight), () -> {
+            BufferedImage img = packedImage(filename);
+            return img != null ? img : loadImageFromFile(filename, sourceWidth, sourceHeight);
+        });
+    }
+
+    /**
+     * Immagine dalla cache, creata con {@code loader} se manca. Se un altro
+     * thread la sta gia' creando (il rendering sull'EDT e il prefetch sul
+     * thread di riscalatura) si aspetta il suo risultato: ogni file viene
+     * decodificato una volta sola.
+     */
+    private BufferedImage cached(ImageKey key, Supplier<BufferedImage> loader) {
+        BufferedImage img = decodedImages.get(key);
+        if (img != null) {
+            return img;
+        }
+        CompletableFuture<BufferedImage> mine = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> running = pendingImages.putIfAbsent(key, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            // Puo' essere arrivata tra la prima lettura e la prenotazione
+            img = decodedImages.get(key);
+            if (img == null) {
+                img = loader.get();
+                if (img != null) {
+                    decodedImages.put(key, img);
+                }
             }
+            mine.complete(img);
+            return img;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingImages.remove(key, mine);
         }
-        System.out.println(" Caricate " + imageCache.size() + " immagini dal classpath");
     }
 
     /**
-     * Carica un'immagine dal classpath
+     * Sorgente presa dal pacchetto pre-scalato, se presente: una copia di
+     * pixel gia' pronti, senza decodifica. Se il pacchetto non ha la misura
+     * esatta si riduce dalla piu' piccola misura sufficiente.
      */
-    private BufferedImage loadImageFromFile(String filename) {
-        try (InputStream is = getClass().getResourceAsStream("/images/" + filename)) {
-            if (is != null) {
-                BufferedImage original = ImageIO.read(is);
-                // Ridimensiona all'aspect ratio corretto
-                return resizeImage(original, imageWidth, imageHeight);
+    private BufferedImage packedImage(String filename) {
+        AssetPack pack = AssetPack.shared();
+        if (pack == null) {
+            return null;
+        }
+        BufferedImage packed = pack.bestFor(filename, sourceWidth, sourceHeight);
+        if (packed == null) {
+            return null;
+        }
+        if (packed.getWidth() == sourceWidth && packed.getHeight() == sourceHeight) {
+            return packed;
+        }
+        return scaleDown(packed, sourceWidth, sourceHeight);
+    }
+
+    /** {@return i nomi distinti dei file immagine usati dalle location} */
+    static Set<String> imageFilenames() {
+        return new LinkedHashSet<>(IMAGE_FILES.values());
+    }
+
+    /**
+     * Cambia la dimensione di destinazione delle immagini. Le varianti
+     * vengono preparate in background dopo {@value #RESCALE_DEBOUNCE_MS} ms
+     * senza nuove richieste: trascinando il bordo della finestra si
+     * riscala una volta sola, alla misura finale. Fino ad allora
+     * {@link #getImage} restituisce la sorgente, che chi disegna adatta.
+     * @param width nuova larghezza di destinazione
+     * @param height nuova altezza di destinazione
+     * @param onReady eseguito sul thread di riscalatura quando le varianti
+     *                sono pronte, puo' essere null
+     */
+    public synchronized void resize(int width, int height, Runnable onReady) {
+        if (width == imageWidth && height == imageHeight) {
+            return;
+        }
+        imageWidth = width;
+        imageHeight = height;
+
+        if (pendingRescale != null) {
+            pendingRescale.cancel(false);
+        }
+        pendingRescale = SCALER.schedule(() -> rescaleAll(width, height, onReady),
+            RESCALE_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void rescaleAll(int width, int height, Runnable onReady) {
+        // Solo i file gia' caricati: gli altri verranno preparati quando servono
+        List<String> loaded = new ArrayList<>();
+        for (ImageKey key : decodedImages.keySet()) {
+            if (key.width() == sourceWidth && key.height() == sourceHeight) {
+                loaded.add(key.filename());
+            }
+        }
+        for (String filename : loaded) {
+            if (width != imageWidth || height != imageHeight) {
+                return; // superata da un ridimensionamento successivo
+            }
+            ensureImage(filename, width, height);
+        }
+        // Restano solo le sorgenti e le varianti della misura attuale
+        decodedImages.keySet().removeIf(k ->
+            (k.width() != sourceWidth || k.height() != sourceHeight)
+                && (k.width() != imageWidth || k.height() != imageHeight));
+        if (onReady != null) {
+            onReady.run();
+        }
+    }
+
+    /**
+     * Riduzione a catena: dimezza finche' resta almeno il doppio della
+     * destinazione, poi un'ultima passata bilineare alla misura esatta.
+     * Evita l'aliasing di una singola riduzione bilineare molto forte.
+     */
+    private static BufferedImage scaleDown(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resizeImage(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return resizeImage(current, targetWidth, targetHeight);
+    }
+
+    /**
+     * Carica un'immagine dal classpath gia' ridotta in decodifica: il
+     * reader salta righe e colonne in eccesso (source subsampling), cosi'
+     * in memoria non passa mai la copia a piena risoluzione.
+     */
+    static BufferedImage loadImageFromFile(String filename, int targetWidth, int targetHeight) {
+        try (InputStream is = PixelArtManager.class.getResourceAsStream("/images/" + filename)) {
+            if (is == null) {
+                return null;
+            }
+            try (ImageInputStream iis = ImageIO.createImageInputStream(is)) {
+                if (iis == null) {
+                    return null;
+                }
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+                if (!readers.hasNext()) {
+                    return null;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(iis, true, true);
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    // L'immagine viene stirata: ogni asse ha il suo passo
+                    int stepX = subsamplingStep(reader.getWidth(0), targetWidth);
+                    int stepY = subsamplingStep(reader.getHeight(0), targetHeight);
+                    if (stepX > 1 || stepY > 1) {
+                        param.setSourceSubsampling(stepX, stepY, 0, 0);
+                    }
+                    // Passata finale di qualita' fino alla misura esatta
+                    return resizeImage(reader.read(0, param), targetWidth, targetHeight);
+                } finally {
+                    reader.dispose();
+                }
             }
         } catch (IOException e) {
             // Silently ignore - will use placeholder
@@ -146,13 +456,31 @@ public class PixelArtManager {
         return null;
     }
 
+    /**
+     * Passo di campionamento in decodifica lungo un asse: il piu' grande
+     * che lascia l'immagine decodificata ancora almeno grande quanto la
+     * destinazione, in modo che la passata finale riduca e non ingrandisca.
+     * L'immagine viene stirata sull'intera area, quindi non si ritaglia
+     * nessuna regione: si sottocampiona tutta la sorgente.
+     * @param source dimensione del file lungo l'asse
+     * @param target dimensione di destinazione lungo l'asse
+     * @return passo di campionamento, almeno 1
+     */
+    static int subsamplingStep(int source, int target) {
+        if (target <= 0) {
+            return 1;
+        }
+        return Math.max(1, source / target);
+    }
+
     /**
      * Ridimensiona un'immagine mantenendo l'aspect ratio
      */
-    private BufferedImage resizeImage(BufferedImage original, int targetWidth, int targetHeight) {
+    private static BufferedImage resizeImage(BufferedImage original, int targetWidth, int targetHeight) {
         BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
         Graphics2D g = resized.createGraphics();
         g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g.drawImage(original, 0, 0, targetWidth, targetHeight, null);
         g.dispose();
         return resized;
@@ -165,17 +493,16 @@ public class PixelArtManager {
      * @return immagine della location o placeholder
      */
     public BufferedImage getImage(String locationKey) {
-        // Controlla se è già in cache
-        if (imageCache.containsKey(locationKey)) {
-            return imageCache.get(locationKey);
+        BufferedImage extra = extraImages.get(locationKey);
+        if (extra != null) {
+            return extra;
         }
 
-        // Prova a caricare da file
+        // La location e' un alias del suo file: cache condivisa
         String filename = IMAGE_FILES.get(locationKey);
         if (filename != null) {
-            BufferedImage img = loadImageFromFile(filename);
+            BufferedImage img = decodedImage(filename);
             if (img != null) {
-                imageCache.put(locationKey, img);
                 return img;
             }
         }
@@ -205,23 +532,25 @@ public class PixelArtManager {
 
         // Testo location
         g.setColor(Color.WHITE);
-        g.setFont(GameFonts.retroBold(30f));
+        Font titleFont = GameFonts.retroBold(30f);
+        g.setFont(titleFont);
         String text = locationKey.toUpperCase().replace("_", " ");
-        FontMetrics fm = g.getFontMetrics();
+        FontMetrics fm = GameFonts.metrics(titleFont);
         int textX = (imageWidth - fm.stringWidth(text)) / 2;
         int textY = imageHeight / 2;
         g.drawString(text, textX, textY);
 
         // Nota per creare immagine
-        g.setFont(GameFonts.retroPlain(20f));
+        Font noteFont = GameFonts.retroPlain(20f);
+        g.setFont(noteFont);
         String note = "(Immagine da creare)";
-        int noteX = (imageWidth - g.getFontMetrics().stringWidth(note)) / 2;
+        int noteX = (imageWidth - GameFonts.metrics(noteFont).stringWidth(note)) / 2;
         g.drawString(note, noteX, textY + 30);
 
         g.dispose();
 
         // Salva in cache per riuso
-        imageCache.put(locationKey, img);
+        extraImages.put(locationKey, img);
         return img;
     }
 
@@ -231,19 +560,23 @@ public class PixelArtManager {
      * @param image immagine da ridimensionare e memorizzare
      */
     public void addImage(String key, BufferedImage image) {
-        imageCache.put(key, resizeImage(image, imageWidth, imageHeight));
+        extraImages.put(key, resizeImage(image, imageWidth, imageHeight));
     }
 
     /**
-     * Ricarica un'immagine da file
+     * Ricarica un'immagine da file; vale anche per gli altri alias
+     * dello stesso file.
      * @param key chiave dell'immagine da ricaricare
      */
     public void reloadImage(String key) {
         String filename = IMAGE_FILES.get(key);
         if (filename != null) {
-            BufferedImage img = loadImageFromFile(filename);
+            BufferedImage img = loadImageFromFile(filename, sourceWidth, sourceHeight);
             if (img != null) {
-                imageCache.put(key, img);
+                extraImages.remove(key);
+                // Le varianti del file si rigenerano al prossimo resize
+                decodedImages.keySet().removeIf(k -> k.filename().equals(filename));
+                decodedImages.put(new ImageKey(filename, sourceWidth, sourceHeight), img);
             }
         }
     }
@@ -252,7 +585,8 @@ public class PixelArtManager {
      * Ricarica tutte le immagini
      */
     public void reloadAllImages() {
-        imageCache.clear();
+        decodedImages.clear();
+        extraImages.clear();
         preloadImages();
     }
 
@@ -262,7 +596,7 @@ public class PixelArtManager {
      * @return true se l'immagine e' in cache o disponibile su file
      */
     public boolean hasImage(String key) {
-        if (imageCache.containsKey(key)) return true;
+        if (extraImages.containsKey(key)) return true;
         if (IMAGE_FILES.containsKey(key)) {
             return getClass().getResource("/images/" + IMAGE_FILES.get(key)) != null;
         }
@@ -0,0 +1,140 @@
+package com.lost.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+
+/**
+ * Fotogrammi della scena renderizzati lato server, per i client web e
+ * i bot: la stessa schermata di {@link FullScreenRenderer#render}
+ * (immagine della location, box del testo, barra di stato) disegnata in
+ * una BufferedImage, senza finestra, e codificata in PNG.
+ *
+ * <p>Un fotogramma dipende solo da scena, barra di stato e misura: i PNG
+ * gia' codificati restano in una cache LRU con il loro ETag, cosi' chi
+ * interroga di continuo la stessa scena viene servito dalla memoria senza
+ * ridisegnare ne' ricodificare nulla.</p>
+ */
+public final class SceneFrames {
+    /** Larghezza predefinita dei fotogrammi. */
+    public static final int DEFAULT_WIDTH = 1280;
+    /** Altezza predefinita dei fotogrammi. */
+    public static final int DEFAULT_HEIGHT = 720;
+    private static final int MIN_WIDTH = 320;
+    private static final int MIN_HEIGHT = 240;
+    private static final int MAX_WIDTH = 1920;
+    private static final int MAX_HEIGHT = 1080;
+    /** Byte di PNG tenuti in memoria: le scene pixel art pesano fino a ~1 MB a 1280x720. */
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+    /** Misure con un renderer pronto, ognuno con le sue immagini scalate. */
+    private static final int MAX_RENDERERS = 4;
+
+    /**
+     * Fotogramma codificato.
+     * @param png byte del PNG, da non modificare
+     * @param etag ETag forte, tra virgolette come vuole HTTP
+     */
+    public record Frame(byte[] png, String etag) {
+    }
+
+    private record FrameKey(String sceneKey, String status, int width, int height) {
+    }
+
+    private record Size(int width, int height) {
+    }
+
+    /** PNG in ordine di accesso, dal meno recente; protetti dal lock dell'istanza. */
+    private final LinkedHashMap<FrameKey, Frame> frames = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final Map<Size, FullScreenRenderer> renderers = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Size, FullScreenRenderer> eldest) {
+                return size() > MAX_RENDERERS;
+            }
+        });
+
+    /**
+     * Fotogramma di una scena, dalla cache se gia' codificato. La misura
+     * viene riportata tra 320x240 e 1920x1080.
+     * @param sceneKey chiave dell'immagine di scena
+     * @param status testo della barra di stato
+     * @param width larghezza richiesta
+     * @param height altezza richiesta
+     * @return il PNG con il suo ETag
+     */
+    public Frame frame(String sceneKey, String status, int width, int height) {
+        int w = Math.max(MIN_WIDTH, Math.min(MAX_WIDTH, width));
+        int h = Math.max(MIN_HEIGHT, Math.min(MAX_HEIGHT, height));
+        FrameKey key = new FrameKey(sceneKey, status == null ? "" : status, w, h);
+        Frame frame = cached(key);
+        if (frame == null) {
+            // Due richieste simultanee possono codificare lo stesso PNG: costa meno
+            // che tenere il lock della cache durante disegno e codifica
+            frame = encode(render(key));
+            store(key, frame);
+        }
+        return frame;
+    }
+
+    /** {@return quanti fotogrammi sono in cache} */
+    public synchronized int cachedFrames() {
+        return frames.size();
+    }
+
+    private synchronized Frame cached(FrameKey key) {
+        return frames.get(key);
+    }
+
+    /** Aggiunge un PNG e scarta i meno recenti finche' si rientra nel budget di memoria. */
+    private synchronized void store(FrameKey key, Frame frame) {
+        Frame previous = frames.put(key, frame);
+        if (previous != null) {
+            cachedBytes -= previous.png().length;
+        }
+        cachedBytes += frame.png().length;
+        Iterator<Frame> eldest = frames.values().iterator();
+        while (cachedBytes > MAX_CACHED_BYTES && frames.size() > 1) {
+            cachedBytes -= eldest.next().png().length;
+            eldest.remove();
+        }
+    }
+
+    private BufferedImage render(FrameKey key) {
+        FullScreenRenderer renderer = renderers.computeIfAbsent(new Size(key.width(), key.height()),
+            size -> new FullScreenRenderer(size.width(), size.height()));
+        BufferedImage image = new BufferedImage(key.width(), key.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            renderer.render(g, key.sceneKey(), key.status());
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static Frame encode(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fotogramma non codificato", e);
+        }
+        byte[] png = out.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(png);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(png.length) + "\"";
+        return new Frame(png, etag);
+    }
+}
@@ -4,8 +4,11 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Converte testo puro in HTML colorizzato per JTextPane.
- * Regole di colorizzazione basate su parole chiave e dialoghi.
+ * Converte testo puro in testo colorato secondo le regole del tema: HTML
+ * per il JTextPane della GUI, sequenze ANSI per il terminale. Le regole
+ * (parole chiave, dialoghi, righe speciali) sono le stesse per entrambi:
+ * ogni riga viene divisa in pezzi con colore e stile, poi resa nel formato
+ * richiesto.
  */
 public final class TextColorizer {
 
@@ -27,10 +30,22 @@ public final class TextColorizer {
     // Parole chiave
     private static final String[] GOLD_KEYWORDS = {"MAPPA", "DHARMA", "LOST", "JACOB", "HYDRA"};
     private static final String[] RED_KEYWORDS = {"MOSTRO", "FUMO", "BOOM"};
+    /** Tutte le parole chiave come parole intere, senza distinzione di maiuscole. */
+    private static final Pattern KEYWORD_PATTERN = Pattern.compile(
+        "(?<!\\w)(" + String.join("|", GOLD_KEYWORDS) + "|" + String.join("|", RED_KEYWORDS) + ")(?!\\w)",
+        Pattern.CASE_INSENSITIVE);
 
     // Pattern per dialoghi tra virgolette
     private static final Pattern QUOTE_PATTERN = Pattern.compile("\"([^\"]+)\"");
 
+    private static final String ANSI_RESET = "\u001B[0m";
+
+    /** Riceve i pezzi di una riga gia' classificati dalle regole. */
+    @FunctionalInterface
+    private interface Segments {
+        void add(String text, String color, boolean bold, boolean italic);
+    }
+
     /**
      * Converte testo puro in HTML colorato secondo le regole del tema.
      * @param plainText testo da colorare
@@ -42,50 +57,98 @@ public final class TextColorizer {
         }
 
         StringBuilder body = new StringBuilder();
-        String[] lines = plainText.split("\n", -1);
-
-        for (String line : lines) {
-            body.append(colorizeLine(line));
+        Segments html = (text, color, bold, italic) -> {
+            body.append("<span style=\"color:").append(color).append("\">");
+            if (bold) body.append("<b>");
+            if (italic) body.append("<i>");
+            body.append(escapeHtml(text));
+            if (italic) body.append("</i>");
+            if (bold) body.append("</b>");
+            body.append("</span>");
+        };
+
+        for (String line : plainText.split("\n", -1)) {
+            styleLine(line, html);
             body.append("<br>");
         }
 
         return wrapHtml(body.toString());
     }
 
-    private static String colorizeLine(String line) {
+    /**
+     * Converte testo puro in testo per terminale con colori ANSI a 24 bit,
+     * grassetto e corsivo, secondo le stesse regole di {@link #colorize}.
+     * @param plainText testo da colorare
+     * @return testo con sequenze di escape ANSI, una riga per riga
+     */
+    public static String colorizeAnsi(String plainText) {
+        if (plainText == null || plainText.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder();
+        Segments ansi = (text, color, bold, italic) -> {
+            int rgb = Integer.parseInt(color.substring(1), 16);
+            out.append("\u001B[0;38;2;")
+                .append(rgb >> 16).append(';')
+                .append((rgb >> 8) & 0xFF).append(';')
+                .append(rgb & 0xFF);
+            if (bold) out.append(";1");
+            if (italic) out.append(";3");
+            out.append('m').append(text);
+        };
+
+        String[] lines = plainText.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            styleLine(lines[i], ansi);
+            out.append(ANSI_RESET);
+            if (i < lines.length - 1) {
+                out.append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void styleLine(String line, Segments out) {
         String trimmed = line.trim();
 
         // Separatori ═══
         if (trimmed.contains("═══")) {
-            return span(escapeHtml(line), GREEN_DARK, false, false);
+            out.add(line, GREEN_DARK, false, false);
+            return;
         }
 
         // Righe speciali - bold
         if (trimmed.contains("CORRETTO") ||
                 trimmed.contains("COMPLETATA CON SUCCESSO") ||
                 trimmed.contains("HAI COMPLETATO")) {
-            return span(escapeHtml(line), GREEN_BRIGHT, true, false);
+            out.add(line, GREEN_BRIGHT, true, false);
+            return;
         }
         if (trimmed.contains("Risposta sbagliata") ||
                 trimmed.contains("Direzione sbagliata") ||
                 trimmed.contains("PREDA PERSA") ||
                 trimmed.contains("SEI MORTO") ||
                 trimmed.contains("Errore")) {
-            return span(escapeHtml(line), RED, true, false);
+            out.add(line, RED, true, false);
+            return;
         }
         if (trimmed.contains("CAP.")) {
-            return span(escapeHtml(line), GOLD, true, false);
+            out.add(line, GOLD, true, false);
+            return;
         }
         if (trimmed.contains("Cosa fai") ||
                 trimmed.contains("Come ") ||
                 trimmed.contains("Quale ") ||
                 trimmed.contains("Quanti ") ||
                 trimmed.contains("Scrivi la risposta")) {
-            return span(escapeHtml(line), AZURE, true, false);
+            out.add(line, AZURE, true, false);
+            return;
         }
         if (trimmed.contains("ATTENZIONE") ||
                 trimmed.contains("Penalita")) {
-            return span(escapeHtml(line), AMBER, true, false);
+            out.add(line, AMBER, true, false);
+            return;
         }
 
         // Scelte e suggerimenti - verde chiaro
@@ -94,69 +157,49 @@ public final class TextColorizer {
                 trimmed.contains("Premi ") ||
                 trimmed.contains("Suggerimento") ||
                 trimmed.contains("Usa ")) {
-            return span(escapeHtml(line), GREEN_LIGHT, false, false);
+            out.add(line, GREEN_LIGHT, false, false);
+            return;
         }
 
-        // Default: applica colorizzazione inline (parole chiave + dialoghi)
-        return colorizeInline(line);
+        // Default: colorizzazione inline (dialoghi + parole chiave)
+        styleInline(line, out);
     }
 
-    private static String colorizeInline(String line) {
-        String escaped = escapeHtml(line);
-
-        // Colora dialoghi tra virgolette -> arancione corsivo
-        Matcher quoteMatcher = QUOTE_PATTERN.matcher(escaped);
-        StringBuffer sb = new StringBuffer();
+    private static void styleInline(String line, Segments out) {
+        // Dialoghi tra virgolette -> arancione corsivo
+        Matcher quoteMatcher = QUOTE_PATTERN.matcher(line);
+        int last = 0;
         while (quoteMatcher.find()) {
-            String replacement = span("&quot;" + quoteMatcher.group(1) + "&quot;",
-                    ORANGE_ITALIC, false, true);
-            quoteMatcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
-        quoteMatcher.appendTail(sb);
-        String result = sb.toString();
-
-        // Colora parole chiave oro
-        for (String kw : GOLD_KEYWORDS) {
-            result = highlightKeyword(result, kw, GOLD);
-        }
-
-        // Colora parole chiave rosse
-        for (String kw : RED_KEYWORDS) {
-            result = highlightKeyword(result, kw, RED_LIGHT);
+            styleKeywords(line.substring(last, quoteMatcher.start()), DEFAULT_COLOR, false, out);
+            styleKeywords(quoteMatcher.group(), ORANGE_ITALIC, true, out);
+            last = quoteMatcher.end();
         }
-
-        return span(result, DEFAULT_COLOR, false, false, true);
+        styleKeywords(line.substring(last), DEFAULT_COLOR, false, out);
     }
 
-    private static String highlightKeyword(String text, String keyword, String color) {
-        // Case-insensitive replace ma preserva il case originale
-        Pattern p = Pattern.compile("(?<![<\\w])(" + Pattern.quote(keyword) + ")(?![\\w>])",
-                Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(text);
-        StringBuffer sb = new StringBuffer();
+    private static void styleKeywords(String text, String color, boolean italic, Segments out) {
+        // Parole chiave oro o rosse, in grassetto, con il corsivo del pezzo che le contiene
+        Matcher m = KEYWORD_PATTERN.matcher(text);
+        int last = 0;
         while (m.find()) {
-            String replacement = "<b><span style=\"color:" + color + "\">"
-                    + m.group(1) + "</span></b>";
-            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+            if (m.start() > last) {
+                out.add(text.substring(last, m.start()), color, false, italic);
+            }
+            out.add(m.group(1), isGoldKeyword(m.group(1)) ? GOLD : RED_LIGHT, true, italic);
+            last = m.end();
+        }
+        if (last < text.length()) {
+            out.add(text.substring(last), color, false, italic);
         }
-        m.appendTail(sb);
-        return sb.toString();
-    }
-
-    private static String span(String content, String color, boolean bold, boolean italic) {
-        return span(content, color, bold, italic, false);
     }
 
-    private static String span(String content, String color, boolean bold, boolean italic, boolean raw) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<span style=\"color:").append(color).append("\">");
-        if (bold) sb.append("<b>");
-        if (italic) sb.append("<i>");
-        sb.append(raw ? content : content);
-        if (italic) sb.append("</i>");
-        if (bold) sb.append("</b>");
-        sb.append("</span>");
-        return sb.toString();
+    private static boolean isGoldKeyword(String word) {
+        for (String kw : GOLD_KEYWORDS) {
+            if (kw.equalsIgnoreCase(word)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static String escapeHtml(String text) {
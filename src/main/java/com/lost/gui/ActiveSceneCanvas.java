@@ -0,0 +1,202 @@
+package com.lost.gui;
+
+import com.lost.graphics.FullScreenRenderer;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rendering attivo della scena di gioco: un thread dedicato disegna
+ * immagine, box del testo e barra di stato su una {@link BufferStrategy}
+ * a cadenza fissa, senza passare dal {@code repaint()} di Swing. Il ritmo
+ * dei frame non dipende piu' dal carico dell'EDT e i cambi di scena
+ * sfumano in dissolvenza.
+ *
+ * <p>Si attiva con {@code -Dlost.activeRendering=true}. Il canvas sta
+ * sotto al testo narrativo: Swing ritaglia da solo la zona del JTextPane,
+ * che resta disegnata dal pannello passivo.</p>
+ */
+public class ActiveSceneCanvas extends Canvas {
+    /** Proprieta' di sistema che abilita il rendering attivo. */
+    public static final String PROPERTY = "lost.activeRendering";
+    /** Frame al secondo del thread di disegno. */
+    private static final int FPS = 60;
+    private static final long FRAME_NANOS = 1_000_000_000L / FPS;
+    /** Durata della dissolvenza tra due scene. */
+    private static final long FADE_NANOS = 400_000_000L;
+
+    /** Scena da disegnare, pubblicata dall'EDT e letta dal thread di disegno. */
+    private record Scene(String imageKey, String status) {
+    }
+
+    private final FullScreenRenderer renderer;
+    private volatile Scene scene = new Scene(null, "");
+    /** True quando il prossimo tick deve ridisegnare anche senza dissolvenza. */
+    private volatile boolean dirty = true;
+    private volatile Thread renderThread;
+
+    // Stato del solo thread di disegno
+    private BufferStrategy strategy;
+    private String drawnImageKey;
+    private String fadeFromKey;
+    private long fadeStartNanos;
+    private boolean renderFailureLogged;
+
+    /**
+     * Crea il canvas che disegna con il renderer indicato.
+     * @param renderer renderer condiviso con il pannello di gioco
+     */
+    public ActiveSceneCanvas(FullScreenRenderer renderer) {
+        this.renderer = renderer;
+        setBackground(Color.BLACK);
+        setFocusable(false);
+        setIgnoreRepaint(true);
+    }
+
+    /** {@return true se il rendering attivo e' stato richiesto all'avvio} */
+    public static boolean isRequested() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Pubblica la scena da mostrare dal prossimo frame.
+     * @param imageKey chiave dell'immagine di scena, null per uno schermo nero
+     * @param status testo della barra di stato ("Giorno 1 | SPIAGGIA")
+     */
+    public void show(String imageKey, String status) {
+        scene = new Scene(imageKey, status == null ? "" : status);
+        dirty = true;
+    }
+
+    /** Chiede di ridisegnare la scena corrente (es. immagini riscalate). */
+    public void invalidateFrame() {
+        dirty = true;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        Thread thread = new Thread(this::renderLoop, "lost-render");
+        thread.setDaemon(true);
+        renderThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        Thread thread = renderThread;
+        renderThread = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        strategy = null;
+        super.removeNotify();
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        // Esposizione della finestra: il thread di disegno rifa' il frame
+        dirty = true;
+    }
+
+    @Override
+    public void update(Graphics g) {
+        dirty = true;
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        dirty = true;
+    }
+
+    private void renderLoop() {
+        long next = System.nanoTime();
+        while (renderThread == Thread.currentThread()) {
+            try {
+                renderFrame();
+            } catch (IllegalStateException e) {
+                // Peer perso durante un cambio di layout: strategia da ricreare
+                strategy = null;
+                dirty = true;
+            } catch (RuntimeException e) {
+                // Un errore del renderer non deve fermare il thread e congelare la scena
+                if (!renderFailureLogged) {
+                    renderFailureLogged = true;
+                    System.out.println("Errore nel disegno della scena: " + e);
+                    e.printStackTrace();
+                }
+                strategy = null;
+                dirty = true;
+            }
+            next += FRAME_NANOS;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                // In ritardo: si riparte dal frame corrente, senza recuperi a raffica
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    private void renderFrame() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        if (strategy == null) {
+            createBufferStrategy(2);
+            strategy = getBufferStrategy();
+        }
+
+        Scene current = scene;
+        long now = System.nanoTime();
+        if (current.imageKey() != null && drawnImageKey != null
+                && !current.imageKey().equals(drawnImageKey)) {
+            fadeFromKey = drawnImageKey;
+            fadeStartNanos = now;
+        }
+        boolean fading = fadeFromKey != null && now - fadeStartNanos < FADE_NANOS;
+        if (!fading) {
+            fadeFromKey = null;
+        }
+        if (!dirty && !fading) {
+            return;
+        }
+        dirty = false;
+        drawnImageKey = current.imageKey();
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    draw(g, current, fading ? 1f - (float) (now - fadeStartNanos) / FADE_NANOS : 0f);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void draw(Graphics2D g, Scene current, float fadeAlpha) {
+        if (current.imageKey() == null) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            return;
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        renderer.render(g, current.imageKey(), current.status());
+        if (fadeAlpha > 0f) {
+            renderer.renderSceneOverlay(g, fadeFromKey, fadeAlpha);
+        }
+    }
+}
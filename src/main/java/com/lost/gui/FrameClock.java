@@ -0,0 +1,182 @@
+package com.lost.gui;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orologio unico delle animazioni Swing. Al posto di un {@link Timer} per
+ * ogni effetto (macchina da scrivere, dissolvenze, attese dell'intro,
+ * dialog di vittoria) c'e' un solo timer che sveglia l'EDT alla scadenza
+ * piu' vicina ed esegue in un unico passaggio tutte le animazioni dovute.
+ *
+ * <p>Le scadenze che cadono entro mezzo frame vengono eseguite insieme,
+ * cosi' animazioni con periodi vicini condividono lo stesso risveglio.
+ * Senza animazioni registrate il timer e' fermo.</p>
+ *
+ * <p>Va usato solo dall'EDT.</p>
+ */
+public final class FrameClock {
+    /** Durata di un frame: 60 frame al secondo. */
+    public static final long FRAME_NANOS = 1_000_000_000L / 60;
+    /** Passi massimi recuperati per un'animazione rimasta indietro. */
+    private static final int MAX_CATCH_UP_STEPS = 4;
+
+    private static final FrameClock SHARED = new FrameClock();
+
+    /**
+     * Statistiche del lavoro svolto a ogni frame.
+     * @param frames risvegli eseguiti
+     * @param steps passi di animazione eseguiti
+     * @param totalNanos tempo totale speso nei frame
+     * @param maxNanos frame piu' lento
+     */
+    public record Stats(long frames, long steps, long totalNanos, long maxNanos) {
+        /** {@return il tempo medio di un frame in microsecondi} */
+        public double averageMicros() {
+            return frames == 0 ? 0 : totalNanos / 1000.0 / frames;
+        }
+    }
+
+    /** Animazione registrata: si ferma con {@link #cancel()}. */
+    public final class Task {
+        private final long periodNanos;
+        private final Runnable step;
+        private long deadline;
+        private boolean active = true;
+
+        private Task(long delayNanos, long periodNanos, Runnable step) {
+            this.periodNanos = periodNanos;
+            this.step = step;
+            this.deadline = System.nanoTime() + delayNanos;
+        }
+
+        /** Toglie l'animazione dall'orologio; si puo' chiamare dal suo passo. */
+        public void cancel() {
+            if (active) {
+                active = false;
+                tasks.remove(this);
+                schedule();
+            }
+        }
+
+        /** {@return true finche' l'animazione non e' finita o annullata} */
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final Timer timer;
+
+    private long frames;
+    private long steps;
+    private long totalNanos;
+    private long maxNanos;
+
+    /** Crea un orologio fermo; di norma si usa {@link #shared()}. */
+    FrameClock() {
+        timer = new Timer(0, e -> tick());
+        timer.setRepeats(false);
+    }
+
+    /** {@return l'orologio condiviso da tutta l'interfaccia} */
+    public static FrameClock shared() {
+        return SHARED;
+    }
+
+    /**
+     * Registra un'animazione ripetuta.
+     * @param periodMillis millisecondi tra un passo e il successivo
+     * @param step passo da eseguire sull'EDT
+     * @return l'animazione, da annullare quando ha finito
+     */
+    public Task every(int periodMillis, Runnable step) {
+        long period = Math.max(1, periodMillis) * 1_000_000L;
+        return add(new Task(period, period, step));
+    }
+
+    /**
+     * Registra un'azione da eseguire una sola volta.
+     * @param delayMillis attesa in millisecondi
+     * @param action azione da eseguire sull'EDT
+     * @return l'attesa, annullabile prima della scadenza
+     */
+    public Task after(int delayMillis, Runnable action) {
+        return add(new Task(Math.max(0, delayMillis) * 1_000_000L, 0, action));
+    }
+
+    /** {@return true se nessuna animazione e' registrata e il timer e' fermo} */
+    public boolean isIdle() {
+        return tasks.isEmpty() && !timer.isRunning();
+    }
+
+    /** {@return le statistiche accumulate dall'avvio} */
+    public Stats stats() {
+        return new Stats(frames, steps, totalNanos, maxNanos);
+    }
+
+    private Task add(Task task) {
+        tasks.add(task);
+        schedule();
+        return task;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long horizon = start + FRAME_NANOS / 2;
+        try {
+            // Copia: i passi possono registrare o annullare animazioni
+            for (Task task : new ArrayList<>(tasks)) {
+                int done = 0;
+                while (task.active && task.deadline <= horizon && done < MAX_CATCH_UP_STEPS) {
+                    if (task.periodNanos == 0) {
+                        task.cancel();
+                    } else {
+                        task.deadline += task.periodNanos;
+                    }
+                    runStep(task);
+                    done++;
+                }
+                if (task.active && task.deadline <= start) {
+                    // Troppo indietro: si riallinea invece di recuperare a raffica
+                    task.deadline = start + task.periodNanos;
+                }
+                steps += done;
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            frames++;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            // Il timer non si ripete da solo: senza questo si fermerebbero tutte le animazioni
+            schedule();
+        }
+    }
+
+    /** Esegue un passo; se fallisce si ferma solo quell'animazione, le altre proseguono. */
+    private static void runStep(Task task) {
+        try {
+            task.step.run();
+        } catch (RuntimeException e) {
+            task.cancel();
+            System.out.println("Animazione interrotta da un errore: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /** Punta il timer alla scadenza piu' vicina, o lo ferma se non serve. */
+    private void schedule() {
+        if (tasks.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (Task task : tasks) {
+            next = Math.min(next, task.deadline);
+        }
+        long delayMillis = Math.max(0, (next - System.nanoTime()) / 1_000_000L);
+        timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, delayMillis));
+        timer.restart();
+    }
+}
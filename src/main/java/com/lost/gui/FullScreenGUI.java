@@ -1,10 +1,12 @@
 package com.lost.gui;
 
+import com.lost.engine.EngineExecutor;
+import com.lost.engine.EngineSnapshot;
 import com.lost.engine.GameEngine;
+import com.lost.engine.GameStateListener;
 import com.lost.graphics.GameFonts;
 import com.lost.graphics.FullScreenRenderer;
 import com.lost.graphics.TextColorizer;
-import com.lost.minigames.MiniGame;
 import com.lost.save.GameSave;
 import com.lost.save.GameSaveInstance;
 import com.lost.save.GameState;
@@ -12,6 +14,8 @@ import com.lost.records.GameRecord;
 import com.lost.records.RecordService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.*;
 import java.awt.*;
@@ -24,10 +28,16 @@ import java.awt.event.*;
 public class FullScreenGUI extends JFrame {
     /** Motore di gioco interrogato per ogni comando. */
     private GameEngine engine;
+    /** Thread del motore: i turni girano fuori dall'EDT, in ordine. */
+    private final EngineExecutor engineExecutor = new EngineExecutor();
+    /** Stato del motore all'ultimo turno completato, letto sull'EDT. */
+    private EngineSnapshot lastSnapshot;
     /** Renderer dell'immagine di scena e del layout grafico. */
     private FullScreenRenderer renderer;
     /** Pannello centrale con il rendering custom della scena. */
     private GamePanel gamePanel;
+    /** Canvas del rendering attivo, null se si usa solo il repaint di Swing. */
+    private ActiveSceneCanvas activeCanvas;
 
     // Componenti UI
     /** Casella di testo per i comandi liberi. */
@@ -66,8 +76,8 @@ public class FullScreenGUI extends JFrame {
     private long gameStartMillis = 0L;
 
     // Effetto macchina da scrivere
-    /** Timer che rivela il testo un po' alla volta. */
-    private Timer typewriterTimer;
+    /** Animazione che rivela il testo un po' alla volta. */
+    private FrameClock.Task typewriterTask;
     /** Testo completo in corso di digitazione. */
     private String typewriterFullText = "";
     /** Quanti caratteri del testo sono gia' visibili. */
@@ -91,15 +101,40 @@ public class FullScreenGUI extends JFrame {
     // Pannello stato permanente
     /** Barra di stato permanente (giorno e luogo). */
     private StatusPanelFactory.StatusPanel statusPanel;
-    /** Timer Swing che aggiorna la barra di stato. */
-    private Timer statusUpdateTimer;
+    /** Aggiorna la barra di stato solo quando il motore segnala un cambio. */
+    private final GameStateListener statusListener = new GameStateListener() {
+        @Override
+        public void dayChanged(int day) {
+            SwingUtilities.invokeLater(() -> statusPanel.showDay(day));
+        }
+
+        @Override
+        public void roomChanged(String roomKey) {
+            SwingUtilities.invokeLater(() -> statusPanel.showRoom(roomKey));
+        }
+
+        @Override
+        public void inventoryChanged(List<String> itemNames) {
+            SwingUtilities.invokeLater(() -> statusPanel.showInventory(itemNames));
+        }
+    };
     /** Servizio della classifica dei record. */
-    private RecordService recordService;
+    private final CompletableFuture<RecordService> recordService;
     /** Preferenza musica: sopravvive a nuove partite e caricamenti. */
     private boolean musicMuted = false;
 
-    /** Crea la finestra principale e mostra la schermata del menu. */
+    /** Crea la finestra principale e apre da sola il database dei record. */
     public FullScreenGUI() {
+        this(CompletableFuture.supplyAsync(RecordService::new));
+    }
+
+    /**
+     * Crea la finestra principale e mostra la schermata del menu.
+     * @param recordService servizio dei record, anche ancora in apertura:
+     *                      la finestra non lo aspetta
+     */
+    public FullScreenGUI(CompletableFuture<RecordService> recordService) {
+        this.recordService = recordService;
         screenWidth = 1024;
         screenHeight = 768;
 
@@ -110,10 +145,10 @@ public class FullScreenGUI extends JFrame {
         setLocationRelativeTo(null);
 
         renderer = new FullScreenRenderer(screenWidth, screenHeight - 70);
-        recordService = new RecordService();
 
         gamePanel = new GamePanel();
         gamePanel.setPreferredSize(new Dimension(screenWidth, screenHeight - 70));
+        renderer.setImagesRescaledListener(() -> SwingUtilities.invokeLater(this::refreshScene));
         gamePanel.setLayout(null);
 
         // JTextPane per testo colorato HTML
@@ -145,6 +180,12 @@ public class FullScreenGUI extends JFrame {
         repositionTextPane();
         gamePanel.add(textScrollPane);
 
+        // Aggiunto dopo il testo, quindi sotto: la zona del JTextPane resta a Swing
+        if (ActiveSceneCanvas.isRequested()) {
+            activeCanvas = new ActiveSceneCanvas(renderer);
+            gamePanel.add(activeCanvas);
+        }
+
         setLayout(new BorderLayout());
 
         statusPanel = StatusPanelFactory.createPermanentStatusPanel(screenWidth);
@@ -164,7 +205,10 @@ public class FullScreenGUI extends JFrame {
                 if (w > 0 && h > 0) {
                     renderer.updateLayout(w, h);
                     repositionTextPane();
-                    gamePanel.repaint();
+                    if (activeCanvas != null) {
+                        activeCanvas.setBounds(0, 0, w, h);
+                    }
+                    refreshScene();
                 }
             }
         });
@@ -173,9 +217,6 @@ public class FullScreenGUI extends JFrame {
 
         setupKeyBindings();
 
-        statusUpdateTimer = new Timer(500, e -> statusPanel.update(engine, currentLocation));
-        statusUpdateTimer.start();
-
         // askPlayerName viene chiamato solo se non si usa startGame()
         SwingUtilities.invokeLater(() -> {
             if (engine == null) askPlayerName();
@@ -297,10 +338,10 @@ public class FullScreenGUI extends JFrame {
         setButtonLabels(DEFAULT_BTN_A, DEFAULT_BTN_B, DEFAULT_BTN_C);
     }
 
-    private void updateButtonLabelsForMiniGame() {
-        if (engine != null && engine.hasMiniGameActive()) {
-            MiniGame mg = engine.getActiveMiniGame();
-            setButtonLabels(mg.getButtonALabel(), mg.getButtonBLabel(), mg.getButtonCLabel());
+    private void updateButtonLabelsForMiniGame(EngineSnapshot snapshot) {
+        if (snapshot != null && snapshot.miniGameActive()) {
+            List<String> labels = snapshot.miniGameButtonLabels();
+            setButtonLabels(labels.get(0), labels.get(1), labels.get(2));
             btnA.setEnabled(true);
             btnB.setEnabled(true);
             btnC.setEnabled(true);
@@ -308,8 +349,8 @@ public class FullScreenGUI extends JFrame {
         }
 
         resetButtonLabels();
-        boolean hasChoices = engine != null && engine.currentChapterHasChoices();
-        String quickLabel = engine != null ? engine.getCurrentChapterQuickAnswerLabel() : null;
+        boolean hasChoices = snapshot != null && snapshot.chapterHasChoices();
+        String quickLabel = snapshot != null ? snapshot.quickAnswerLabel() : null;
 
         if (hasChoices) {
             // Capitolo a scelte: A/B/C attivi
@@ -494,16 +535,18 @@ public class FullScreenGUI extends JFrame {
     }
 
     private void initializeGame(String playerName) {
-        engine = new GameEngine();
+        GameEngine fresh = new GameEngine();
         // Rispetta la preferenza musica prima che parta qualsiasi brano
-        engine.getAudioManager().setMusicEnabled(!musicMuted);
-        engine.initializeGame(playerName);
+        fresh.getAudioManager().setMusicEnabled(!musicMuted);
+        fresh.initializeGame(playerName);
+        attachEngine(fresh);
         victoryDialogShown = false;
         gameOverDialogShown = false;
         completionRecordSaved = false;
         gameStartMillis = System.currentTimeMillis();
         introRunning = true;
         textScrollPane.setVisible(false);
+        refreshScene();
 
         // Glass pane nero per coprire il frame durante l'intro
         JPanel glassPane = new JPanel();
@@ -528,9 +571,12 @@ public class FullScreenGUI extends JFrame {
                       "Premi AVANTI per iniziare...";
         currentTitle = "GIORNO 1";
         currentLocation = "spiaggia";
+        // L'intro ha toccato l'inventario (whisky): riallinea lo snapshot
+        lastSnapshot = engine.republishState();
+        statusPanel.update(lastSnapshot);
 
         updateTextDisplay();
-        gamePanel.repaint();
+        refreshScene();
     }
 
     /**
@@ -554,18 +600,74 @@ public class FullScreenGUI extends JFrame {
         }
     }
 
+    /**
+     * Sostituisce il motore corrente: sposta l'osservatore della barra di
+     * stato sul nuovo motore e la riallinea con uno snapshot completo.
+     * @param next motore della nuova partita
+     */
+    private void attachEngine(GameEngine next) {
+        if (engine != null) {
+            engine.removeStateListener(statusListener);
+        }
+        engine = next;
+        engine.addStateListener(statusListener);
+        lastSnapshot = engine.snapshot();
+        statusPanel.update(lastSnapshot);
+        renderer.getPixelArtManager().prefetch(lastSnapshot.upcomingImageKeys());
+    }
+
+    /**
+     * Accoda il comando sul thread del motore; la risposta viene
+     * applicata alla finestra sull'EDT quando il turno e' concluso.
+     * I comandi inviati durante un turno lento restano in coda, in ordine.
+     */
     private void processInput(String input) {
         if (engine == null) return;
 
-        String response = engine.processCommand(input);
+        GameEngine target = engine;
+        engineExecutor.submit(target, input).whenComplete((result, error) ->
+            SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportBackgroundFailure("Errore durante il turno", error);
+                    JOptionPane.showMessageDialog(this,
+                        "Errore durante il turno:\n" + rootCause(error).getMessage(),
+                        "Errore", JOptionPane.ERROR_MESSAGE);
+                } else if (target == engine) {
+                    // Risposte di una partita ormai sostituita vengono scartate
+                    applyTurn(result);
+                }
+            }));
+    }
+
+    /**
+     * Registra un errore avvenuto fuori dall'EDT (thread del motore, lettura
+     * dei record): senza questo l'eccezione resterebbe chiusa nel
+     * CompletableFuture, invisibile.
+     */
+    private static void reportBackgroundFailure(String message, Throwable error) {
+        Throwable cause = rootCause(error);
+        System.out.println(message + ": " + cause);
+        cause.printStackTrace();
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void applyTurn(EngineExecutor.TurnResult result) {
+        String response = result.response();
+        EngineSnapshot snapshot = result.snapshot();
+        lastSnapshot = snapshot;
+        // Le immagini dei prossimi capitoli si decodificano mentre si legge
+        renderer.getPixelArtManager().prefetch(snapshot.upcomingImageKeys());
         if ("##MAPPA##".equals(response)) {
             showMapDialog();
             return;
         }
         currentText = response;
-        currentLocation = engine.getCurrentRoomKey();
+        currentLocation = snapshot.roomKey();
 
-        currentImageKey = engine.getCurrentSceneImageKey();
+        currentImageKey = snapshot.sceneImageKey();
 
         if (response.contains("CAP.")) {
             int start = response.indexOf(": ");
@@ -575,15 +677,17 @@ public class FullScreenGUI extends JFrame {
             }
         }
 
-        updateButtonLabelsForMiniGame();
+        updateButtonLabelsForMiniGame(snapshot);
         updateTextDisplay();
 
-        gamePanel.repaint();
+        refreshScene();
 
-        if (engine.isGameWon() && !victoryDialogShown) {
+        if (snapshot.gameWon() && !victoryDialogShown) {
             victoryDialogShown = true;
-            GameRecord record = saveCompletionRecord();
-            Timer timer = new Timer(5000, e -> {
+            CompletableFuture<GameRecord> pendingRecord = saveCompletionRecord(snapshot);
+            // Il dialog modale apre un ciclo di eventi annidato: va fuori dal tick dell'orologio
+            FrameClock.shared().after(5000, () -> SwingUtilities.invokeLater(() -> {
+                GameRecord record = pendingRecord.getNow(null);
                 String recordLine = record != null
                     ? "Tempo finale: " + record.getFormattedTime() + "\n"
                     : "";
@@ -603,12 +707,10 @@ public class FullScreenGUI extends JFrame {
                 } else if (choice == 2) {
                     System.exit(0);
                 }
-            });
-            timer.setRepeats(false);
-            timer.start();
+            }));
         }
 
-        if (engine.isGameOver() && !gameOverDialogShown) {
+        if (snapshot.gameOver() && !gameOverDialogShown) {
             gameOverDialogShown = true;
             showGameOverDialog();
         }
@@ -635,26 +737,41 @@ public class FullScreenGUI extends JFrame {
         // Dialog chiuso senza scelta: il giocatore puo' riaprire con ESCI o ricominciare.
     }
 
-    private GameRecord saveCompletionRecord() {
-        if (completionRecordSaved || engine == null || engine.getPlayer() == null
-                || engine.isLoadedFromSave()) {
-            return null;
+    private CompletableFuture<GameRecord> saveCompletionRecord(EngineSnapshot snapshot) {
+        if (completionRecordSaved || snapshot.loadedFromSave()) {
+            return CompletableFuture.completedFuture(null);
         }
 
         completionRecordSaved = true;
         long elapsedMillis = Math.max(0L, System.currentTimeMillis() - gameStartMillis);
-        try {
-            return recordService.saveCompletion(engine.getPlayer().getName(), elapsedMillis);
-        } catch (RuntimeException e) {
-            System.out.println("Record non salvato: " + e.getMessage());
-            return null;
-        }
+        // L'inserimento su H2 gira sul thread del motore, non sull'EDT, e si accoda
+        // solo quando il database e' aperto: i turni non aspettano l'apertura di H2
+        return recordService
+            .thenCompose(service -> engineExecutor.call(() ->
+                service.saveCompletion(snapshot.playerName(), elapsedMillis)))
+            .exceptionally(e -> {
+                System.out.println("Record non salvato: " + rootCause(e).getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * Prepara le risorse grafiche usate dopo il menu (atlante delle icone
+     * dell'inventario). Si puo' chiamare da qualsiasi thread, anche prima
+     * di creare la finestra.
+     */
+    public static void preloadResources() {
+        ItemIcons.preload();
     }
 
     private class GamePanel extends JPanel {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
+            if (activeCanvas != null) {
+                // Con il rendering attivo la scena la disegna solo il canvas, dal suo thread
+                return;
+            }
             Graphics2D g2d = (Graphics2D) g;
 
             if (introRunning) {
@@ -668,14 +785,28 @@ public class FullScreenGUI extends JFrame {
             g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
                 RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
-            String status = "";
-            if (engine != null && engine.getPlayer() != null) {
-                status = String.format("Giorno %d | %s",
-                    engine.getPlayer().getDaysOnIsland(),
-                    currentLocation.toUpperCase());
-            }
+            renderer.render(g2d, currentImageKey, statusText());
+        }
+    }
+
+    /** {@return il testo della barra di stato disegnata sotto la scena} */
+    private String statusText() {
+        if (lastSnapshot == null) {
+            return "";
+        }
+        return FullScreenRenderer.statusText(lastSnapshot.daysOnIsland(), currentLocation);
+    }
 
-            renderer.render(g2d, currentImageKey, status);
+    /**
+     * Ridisegna la scena dopo un cambio di stato: con il rendering attivo
+     * la pubblica soltanto al thread di disegno, che la mostra al frame
+     * dopo, senza un secondo disegno sull'EDT.
+     */
+    private void refreshScene() {
+        if (activeCanvas != null) {
+            activeCanvas.show(introRunning ? null : currentImageKey, statusText());
+        } else {
+            gamePanel.repaint();
         }
     }
 
@@ -688,18 +819,25 @@ public class FullScreenGUI extends JFrame {
             JOptionPane.PLAIN_MESSAGE);
 
         if (slotName == null || slotName.trim().isEmpty()) return;
-        slotName = slotName.trim().replaceAll("[^a-zA-Z0-9_-]", "_");
-
-        boolean ok = GameSave.save(engine, slotName);
-        if (ok) {
-            JOptionPane.showMessageDialog(this,
-                "Partita salvata nello slot '" + slotName + "'!",
-                "Salvato", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            JOptionPane.showMessageDialog(this,
-                "Errore durante il salvataggio!",
-                "Errore", JOptionPane.ERROR_MESSAGE);
-        }
+        String safeSlotName = slotName.trim().replaceAll("[^a-zA-Z0-9_-]", "_");
+
+        // Il salvataggio si accoda ai turni: scrive lo stato dopo l'ultimo comando
+        GameEngine target = engine;
+        engineExecutor.call(() -> GameSave.save(target, safeSlotName)).whenComplete((ok, error) ->
+            SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportBackgroundFailure("Salvataggio non riuscito", error);
+                }
+                if (error == null && ok) {
+                    JOptionPane.showMessageDialog(this,
+                        "Partita salvata nello slot '" + safeSlotName + "'!",
+                        "Salvato", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        "Errore durante il salvataggio!",
+                        "Errore", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
     }
 
     private void showLoadDialog() {
@@ -738,18 +876,38 @@ public class FullScreenGUI extends JFrame {
 
         if (selected == null) return;
 
-        GameState state = GameSave.load(selected.getSlotName());
-        if (state == null) {
+        // Lettura del file e ricostruzione del mondo sul thread del motore
+        String slot = selected.getSlotName();
+        boolean musicOn = !musicMuted;
+        engineExecutor.call(() -> {
+            GameState state = GameSave.load(slot);
+            if (state == null) {
+                return null;
+            }
+            GameEngine loaded = new GameEngine();
+            loaded.getAudioManager().setMusicEnabled(musicOn);
+            loaded.loadGameState(state);
+            return loaded;
+        }).whenComplete((loaded, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                reportBackgroundFailure("Caricamento non riuscito", error);
+            }
+            applyLoadedGame(error == null ? loaded : null);
+        }));
+    }
+
+    private void applyLoadedGame(GameEngine loaded) {
+        if (loaded == null) {
             JOptionPane.showMessageDialog(this,
                 "Errore nel caricamento!",
                 "Errore", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        engine = new GameEngine();
-        engine.getAudioManager().setMusicEnabled(!musicMuted);
-        engine.loadGameState(state);
-        victoryDialogShown = engine.isGameWon();
+        attachEngine(loaded);
+        // Da qui in poi solo lo snapshot: il motore appartiene al suo thread
+        EngineSnapshot state = lastSnapshot;
+        victoryDialogShown = state.gameWon();
         gameOverDialogShown = false;
         completionRecordSaved = true;
         gameStartMillis = System.currentTimeMillis();
@@ -758,20 +916,20 @@ public class FullScreenGUI extends JFrame {
         getGlassPane().setVisible(false);
         engine.getAudioManager().playBackgroundMusic(IntroSequence.ISLAND_THEME);
 
-        currentLocation = engine.getCurrentRoomKey();
-        currentImageKey = engine.getCurrentSceneImageKey();
+        currentLocation = state.roomKey();
+        currentImageKey = state.sceneImageKey();
         currentText = "Partita caricata!\n\n" +
-            engine.getPlayer().getName() +
-            " | Cap. " + engine.getCurrentChapterNumber() +
-            "/" + engine.getTotalChapters() +
-            " | Giorno " + engine.getPlayer().getDaysOnIsland() + "\n\n" +
+            state.playerName() +
+            " | Cap. " + state.chapterNumber() +
+            "/" + state.totalChapters() +
+            " | Giorno " + state.daysOnIsland() + "\n\n" +
             "I record sono disponibili solo per le nuove partite.\n\n" +
             "Premi AVANTI per continuare...";
         currentTitle = "PARTITA CARICATA";
 
-        updateButtonLabelsForMiniGame();
+        updateButtonLabelsForMiniGame(state);
         updateTextDisplay();
-        gamePanel.repaint();
+        refreshScene();
     }
 
     private void showMapDialog() {
@@ -820,17 +978,22 @@ public class FullScreenGUI extends JFrame {
         mapDialog.setVisible(true);
     }
 
+    /** Legge i record fuori dall'EDT, anche se H2 e' ancora in apertura, e poi li mostra. */
     private void showRecordsDialog() {
-        List<GameRecord> records;
-        try {
-            records = recordService.getBestRecords(5);
-        } catch (RuntimeException e) {
-            JOptionPane.showMessageDialog(this,
-                "Impossibile leggere i record.",
-                "Record", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+        recordService.thenApplyAsync(service -> service.getBestRecords(5))
+            .whenComplete((records, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    reportBackgroundFailure("Record non letti", error);
+                    JOptionPane.showMessageDialog(this,
+                        "Impossibile leggere i record.",
+                        "Record", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                showRecords(records);
+            }));
+    }
 
+    private void showRecords(List<GameRecord> records) {
         StringBuilder message = new StringBuilder("Migliori fughe dall'isola:\n\n");
         if (records.isEmpty()) {
             message.append("Nessun record salvato.");
@@ -869,7 +1032,7 @@ public class FullScreenGUI extends JFrame {
         typewriterIndex = 0;
         renderTypewriterText();
 
-        typewriterTimer = new Timer(TYPEWRITER_TICK_MS, e -> {
+        typewriterTask = FrameClock.shared().every(TYPEWRITER_TICK_MS, () -> {
             typewriterIndex = Math.min(typewriterFullText.length(),
                 typewriterIndex + TYPEWRITER_CHARS_PER_TICK);
             renderTypewriterText();
@@ -877,7 +1040,6 @@ public class FullScreenGUI extends JFrame {
                 stopTypewriter();
             }
         });
-        typewriterTimer.start();
     }
 
     private void renderTypewriterText() {
@@ -888,13 +1050,13 @@ public class FullScreenGUI extends JFrame {
     }
 
     private boolean isTypewriterRunning() {
-        return typewriterTimer != null && typewriterTimer.isRunning();
+        return typewriterTask != null && typewriterTask.isActive();
     }
 
     private void stopTypewriter() {
-        if (typewriterTimer != null) {
-            typewriterTimer.stop();
-            typewriterTimer = null;
+        if (typewriterTask != null) {
+            typewriterTask.cancel();
+            typewriterTask = null;
         }
     }
 
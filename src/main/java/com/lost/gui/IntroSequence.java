@@ -2,6 +2,7 @@ package com.lost.gui;
 
 import com.lost.engine.GameEngine;
 import com.lost.graphics.GameFonts;
+import com.lost.graphics.GlyphLayer;
 import com.lost.model.Item;
 
 import javax.swing.*;
@@ -73,31 +74,24 @@ public class IntroSequence {
         final float[] alpha = {0f};
 
         JPanel introPanel = new JPanel() {
+            /** Scritta rasterizzata al primo frame: poi cambia solo l'opacita'. */
+            private GlyphLayer title;
+
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                    RenderingHints.VALUE_ANTIALIAS_ON);
-                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
-                    RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                    RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                if (title == null) {
+                    title = GlyphLayer.render("LOST", GameFonts.retroBold(190f),
+                        Color.WHITE, g2d.getDeviceConfiguration());
+                }
 
                 g2d.setColor(Color.BLACK);
                 g2d.fillRect(0, 0, getWidth(), getHeight());
 
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha[0]));
-
-                Font lostFont = GameFonts.retroBold(190f);
-                g2d.setFont(lostFont);
-                g2d.setColor(Color.WHITE);
-
-                String text = "LOST";
-                FontMetrics fm = g2d.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(text)) / 2;
-                int y = (getHeight() + fm.getAscent()) / 2 - 30;
-                g2d.drawString(text, x, y);
+                int x = (getWidth() - title.width()) / 2;
+                int y = (getHeight() + title.ascent()) / 2 - 30;
+                title.draw(g2d, x, y, alpha[0]);
             }
         };
 
@@ -105,7 +99,6 @@ public class IntroSequence {
         introWindow.add(introPanel);
         introWindow.setVisible(true);
 
-        Timer animTimer = new Timer(30, null);
         final int[] frame = {0};
         final boolean[] done = {false};
         final int FADE_IN_FRAMES = 150;
@@ -113,7 +106,8 @@ public class IntroSequence {
         final int FADE_OUT_FRAMES = 45;
         final int TOTAL_FRAMES = FADE_IN_FRAMES + HOLD_FRAMES + FADE_OUT_FRAMES;
 
-        animTimer.addActionListener(e -> {
+        final FrameClock.Task[] animation = {null};
+        animation[0] = FrameClock.shared().every(30, () -> {
             if (done[0]) return;
             frame[0]++;
 
@@ -129,14 +123,12 @@ public class IntroSequence {
             if (frame[0] > TOTAL_FRAMES && currentScene == 0) {
                 currentScene = 1;
                 done[0] = true;
-                animTimer.stop();
+                animation[0].cancel();
                 transition(introWindow, this::showIntroImages);
             }
 
             introPanel.repaint();
         });
-
-        animTimer.start();
     }
 
     // ==================== SCENA 2: Immagine aereo ====================
@@ -278,11 +270,8 @@ public class IntroSequence {
         itemDialog.add(panel);
         itemDialog.setVisible(true);
 
-        Timer closeTimer = new Timer(2000, e -> {
-            transition(itemDialog, this::showTurbulenceScene);
-        });
-        closeTimer.setRepeats(false);
-        closeTimer.start();
+        FrameClock.shared().after(2000, () ->
+            transition(itemDialog, this::showTurbulenceScene));
     }
 
     // ==================== SCENA 5: Turbolenza ====================
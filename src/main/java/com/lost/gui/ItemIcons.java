@@ -3,17 +3,27 @@ package com.lost.gui;
 import com.lost.model.Item;
 
 import javax.imageio.ImageIO;
-import javax.swing.ImageIcon;
-import java.awt.Image;
+import javax.swing.Icon;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Associa a ogni oggetto del gioco una piccola icona PNG per la barra
- * di stato. Le icone sono caricate dal classpath (/images/icon_*.png),
- * ridimensionate e tenute in cache. Se l'icona di un oggetto non esiste
+ * di stato. Le icone sono caricate dal classpath (/images/icon_*.png)
+ * una sola volta, scalate subito in qualita' e affiancate in un'unica
+ * immagine (atlante) nel formato dello schermo: ogni icona disegna il
+ * proprio riquadro dell'atlante. Se l'icona di un oggetto non esiste
  * ancora, il metodo restituisce null e la barra mostra il nome testuale.
  */
 final class ItemIcons {
@@ -45,43 +55,119 @@ final class ItemIcons {
         {"whisky",        "icon_whisky.png"},
     };
 
-    private static final Map<String, ImageIcon> CACHE = new HashMap<>();
+    /** Atlante e icone per file, costruiti al primo uso (holder idiom). */
+    private static final class Atlas {
+        static final Map<String, Icon> ICONS = new ConcurrentHashMap<>();
+        static final BufferedImage IMAGE = build();
+
+        private static BufferedImage build() {
+            Set<String> filenames = new LinkedHashSet<>();
+            for (String[] entry : ICON_MAP) {
+                filenames.add(entry[1]);
+            }
+            BufferedImage atlas = createAtlas(filenames.size() * ICON_SIZE, ICON_SIZE);
+            Graphics2D g = atlas.createGraphics();
+            int x = 0;
+            for (String filename : filenames) {
+                BufferedImage icon = loadScaled(filename);
+                if (icon != null) {
+                    g.drawImage(icon, x, 0, null);
+                    ICONS.put(filename, new AtlasIcon(x));
+                    x += ICON_SIZE;
+                }
+            }
+            g.dispose();
+            return atlas;
+        }
+    }
+
+    /** Icona che disegna il suo riquadro dell'atlante. */
+    private record AtlasIcon(int offset) implements Icon {
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.drawImage(Atlas.IMAGE, x, y, x + ICON_SIZE, y + ICON_SIZE,
+                offset, 0, offset + ICON_SIZE, ICON_SIZE, null);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return ICON_SIZE;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return ICON_SIZE;
+        }
+    }
 
     /**
      * Icona scalata per un oggetto, o null se non esiste un file icona.
      * @param item oggetto di cui ottenere l'icona
      * @return l'icona pronta per una JLabel, oppure null
      */
-    static ImageIcon iconFor(Item item) {
-        if (item == null || item.getName() == null) {
+    static Icon iconFor(Item item) {
+        return item == null ? null : iconFor(item.getName());
+    }
+
+    /**
+     * Icona scalata dato il solo nome dell'oggetto, o null se non esiste.
+     * @param itemName nome dell'oggetto
+     * @return l'icona pronta per una JLabel, oppure null
+     */
+    static Icon iconFor(String itemName) {
+        if (itemName == null) {
             return null;
         }
-        String name = item.getName().toLowerCase(Locale.ROOT);
+        String name = itemName.toLowerCase(Locale.ROOT);
         for (String[] entry : ICON_MAP) {
             if (name.contains(entry[0])) {
-                return load(entry[1]);
+                return Atlas.ICONS.get(entry[1]);
             }
         }
         return null;
     }
 
-    private static ImageIcon load(String filename) {
-        if (CACHE.containsKey(filename)) {
-            return CACHE.get(filename);
+    /** Costruisce l'atlante all'avvio, invece che alla prima icona mostrata. */
+    static void preload() {
+        Atlas.ICONS.size();
+    }
+
+    private static BufferedImage createAtlas(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         }
-        ImageIcon icon = null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+            .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Legge un'icona e la riduce subito a ICON_SIZE dimezzando piu' volte
+     * in bilineare: stessa resa di SCALE_SMOOTH, ma sincrona.
+     */
+    private static BufferedImage loadScaled(String filename) {
         try (InputStream is = ItemIcons.class.getResourceAsStream("/images/" + filename)) {
-            if (is != null) {
-                Image raw = ImageIO.read(is);
-                if (raw != null) {
-                    Image scaled = raw.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-                    icon = new ImageIcon(scaled);
-                }
+            if (is == null) {
+                return null;
+            }
+            BufferedImage current = ImageIO.read(is);
+            if (current == null) {
+                return null;
             }
+            do {
+                int width = Math.max(ICON_SIZE, current.getWidth() / 2);
+                int height = Math.max(ICON_SIZE, current.getHeight() / 2);
+                BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = step.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+                g.dispose();
+                current = step;
+            } while (current.getWidth() > ICON_SIZE || current.getHeight() > ICON_SIZE);
+            return current;
         } catch (Exception ignored) {
             // icona non disponibile: la barra mostrera' il nome testuale
+            return null;
         }
-        CACHE.put(filename, icon);
-        return icon;
     }
 }
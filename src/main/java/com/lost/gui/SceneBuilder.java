@@ -7,6 +7,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
 
 /**
@@ -79,6 +80,8 @@ public class SceneBuilder {
     public JPanel createImagePanel(String imageFilename) {
         JPanel imagePanel = new JPanel() {
             private Image image;
+            /** Immagine gia' scalata alla misura del pannello, nel formato dello schermo. */
+            private BufferedImage scaled;
             {
                 image = loadImageFromClasspath(imageFilename);
             }
@@ -87,11 +90,15 @@ public class SceneBuilder {
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
 
                 if (image != null) {
-                    g2d.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+                    // Si scala una volta per misura: i repaint copiano e basta
+                    if (scaled == null || scaled.getWidth() != getWidth()
+                            || scaled.getHeight() != getHeight()) {
+                        scaled = scaleToPanel(g2d.getDeviceConfiguration(), image,
+                            getWidth(), getHeight());
+                    }
+                    g2d.drawImage(scaled, 0, 0, null);
                 } else {
                     g2d.setColor(Color.BLACK);
                     g2d.fillRect(0, 0, getWidth(), getHeight());
@@ -103,6 +110,17 @@ public class SceneBuilder {
         return imagePanel;
     }
 
+    private static BufferedImage scaleToPanel(GraphicsConfiguration gc, Image image,
+                                              int width, int height) {
+        BufferedImage scaled = gc.createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
     /**
      * Crea la fascia del titolo della scena.
      * @param title testo del titolo
@@ -146,13 +164,13 @@ public class SceneBuilder {
         }
 
         final int[] index = {0};
-        Timer timer = new Timer(INTRO_TICK_MS, null);
-        timer.addActionListener(e -> {
+        final FrameClock.Task[] typewriter = {null};
+        typewriter[0] = FrameClock.shared().every(INTRO_TICK_MS, () -> {
             index[0] = Math.min(fullText.length(), index[0] + INTRO_CHARS_PER_TICK);
             area.setText(fullText.substring(0, index[0]));
             area.setCaretPosition(area.getDocument().getLength()); // segue il testo
             if (index[0] >= fullText.length()) {
-                timer.stop();
+                typewriter[0].cancel();
             }
         });
 
@@ -160,12 +178,10 @@ public class SceneBuilder {
         area.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                timer.stop();
+                typewriter[0].cancel();
                 area.setText(fullText);
             }
         });
-
-        timer.start();
     }
 
     /**
@@ -1,17 +1,21 @@
 package com.lost.gui;
 
+import com.lost.engine.EngineSnapshot;
 import com.lost.engine.GameEngine;
 import com.lost.graphics.GameFonts;
-import com.lost.model.Item;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Factory per pannelli di stato (giorno e posizione)
  */
 public final class StatusPanelFactory {
 
+    private static final Font INVENTORY_FONT = GameFonts.retroPlain(16f);
+    private static final Color INVENTORY_TEXT_COLOR = new Color(200, 220, 200);
+
     private StatusPanelFactory() {
     }
 
@@ -23,7 +27,6 @@ public final class StatusPanelFactory {
         private final JLabel dayLabel;
         private final JLabel locationLabel;
         private final JPanel inventoryPanel;
-        private String lastInventorySignature = "";
 
         StatusPanel(JPanel panel, JLabel dayLabel, JLabel locationLabel, JPanel inventoryPanel) {
             this.panel = panel;
@@ -38,45 +41,60 @@ public final class StatusPanelFactory {
         }
 
         /**
-         * Aggiorna giorno, posizione e inventario visualizzati.
-         * L'inventario viene ridisegnato solo quando cambia, per evitare
-         * sfarfallii a ogni tick del timer.
-         * @param engine motore di gioco da cui leggere lo stato
-         * @param currentLocation chiave della stanza corrente
+         * Riallinea giorno, posizione e inventario a uno snapshot completo,
+         * ad esempio all'avvio di una partita o dopo un caricamento.
+         * @param snapshot stato del motore, puo' essere null
          */
-        public void update(GameEngine engine, String currentLocation) {
-            if (engine == null || engine.getPlayer() == null) return;
+        public void update(EngineSnapshot snapshot) {
+            if (snapshot == null || snapshot.playerName() == null) return;
 
-            dayLabel.setText("Giorno " + engine.getPlayer().getDaysOnIsland());
-            locationLabel.setText(currentLocation.toUpperCase());
-            updateInventory(engine);
+            showDay(snapshot.daysOnIsland());
+            showRoom(snapshot.roomKey());
+            showInventory(snapshot.inventory());
         }
 
-        private void updateInventory(GameEngine engine) {
-            java.util.List<Item> items = engine.getPlayer().getInventory();
-            StringBuilder sig = new StringBuilder();
-            for (Item it : items) {
-                sig.append(it.getName()).append('|');
-            }
-            if (sig.toString().equals(lastInventorySignature)) {
-                return; // inventario invariato: niente da ridisegnare
-            }
-            lastInventorySignature = sig.toString();
+        /**
+         * Mostra il giorno sull'isola.
+         * @param day giorno corrente
+         */
+        public void showDay(int day) {
+            dayLabel.setText("Giorno " + day);
+        }
 
-            inventoryPanel.removeAll();
-            for (Item it : items) {
-                ImageIcon icon = ItemIcons.iconFor(it);
+        /**
+         * Mostra la stanza corrente.
+         * @param roomKey chiave della stanza
+         */
+        public void showRoom(String roomKey) {
+            locationLabel.setText(roomKey.toUpperCase());
+        }
+
+        /**
+         * Ridisegna le icone dell'inventario. Viene chiamato solo quando
+         * l'inventario cambia; le etichette gia' presenti si riusano e
+         * cambiano solo icona o testo.
+         * @param items nomi degli oggetti posseduti
+         */
+        public void showInventory(List<String> items) {
+            while (inventoryPanel.getComponentCount() > items.size()) {
+                inventoryPanel.remove(inventoryPanel.getComponentCount() - 1);
+            }
+            for (int i = 0; i < items.size(); i++) {
                 JLabel label;
-                if (icon != null) {
-                    label = new JLabel(icon);
+                if (i < inventoryPanel.getComponentCount()) {
+                    label = (JLabel) inventoryPanel.getComponent(i);
                 } else {
-                    // Finche' l'icona non esiste, mostra il nome breve
-                    label = new JLabel(it.getName());
-                    label.setFont(GameFonts.retroPlain(16f));
-                    label.setForeground(new Color(200, 220, 200));
+                    label = new JLabel();
+                    label.setFont(INVENTORY_FONT);
+                    label.setForeground(INVENTORY_TEXT_COLOR);
+                    inventoryPanel.add(label);
                 }
-                label.setToolTipText(it.getName());
-                inventoryPanel.add(label);
+                String name = items.get(i);
+                Icon icon = ItemIcons.iconFor(name);
+                label.setIcon(icon);
+                // Finche' l'icona non esiste, mostra il nome breve
+                label.setText(icon == null ? name : null);
+                label.setToolTipText(name);
             }
             inventoryPanel.revalidate();
             inventoryPanel.repaint();
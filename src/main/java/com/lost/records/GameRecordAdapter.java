@@ -0,0 +1,63 @@
+package com.lost.records;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * TypeAdapter Gson scritto a mano per GameRecord: serializza i quattro
+ * campi del record in streaming, senza reflection, mantenendo gli stessi
+ * nomi JSON esposti finora dall'API /records.
+ */
+public final class GameRecordAdapter extends TypeAdapter<GameRecord> {
+
+    @Override
+    public void write(JsonWriter out, GameRecord record) throws IOException {
+        if (record == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(record.getId());
+        out.name("playerName").value(record.getPlayerName());
+        out.name("completionMillis").value(record.getCompletionMillis());
+        out.name("completedAt").value(record.getCompletedAt());
+        out.endObject();
+    }
+
+    @Override
+    public GameRecord read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int id = 0;
+        String playerName = null;
+        long completionMillis = 0L;
+        String completedAt = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id": id = in.nextInt(); break;
+                case "playerName": playerName = nextString(in); break;
+                case "completionMillis": completionMillis = in.nextLong(); break;
+                case "completedAt": completedAt = nextString(in); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return new GameRecord(id, playerName, completionMillis, completedAt);
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
@@ -1,6 +1,11 @@
 package com.lost.records;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.lost.events.GameEventBus;
+import com.lost.sessions.SessionApi;
+import com.lost.sessions.SessionRegistry;
+import com.lost.sessions.SessionStore;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 
@@ -10,14 +15,18 @@ import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
- * Piccola API REST locale che espone la classifica su localhost:8000.
- * Endpoint: GET/POST /records e GET /records/best.
+ * Piccola API REST locale su localhost:8000: la classifica
+ * (GET/POST /records e GET /records/best) e le partite senza GUI
+ * di {@link SessionApi} sotto /sessions.
  */
 public final class RecordApiServer {
     private static final int PORT = 8000;
-    private static final Gson GSON = new Gson();
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapter(GameRecord.class, new GameRecordAdapter())
+        .create();
     private static HttpServer server;
 
     private RecordApiServer() {
@@ -27,23 +36,38 @@ public final class RecordApiServer {
      * Avvia il server HTTP su un thread daemon.
      * Se la porta e' occupata il gioco prosegue senza API.
      */
-    public static synchronized void start() {
+    public static void start() {
+        start(RecordService::new);
+    }
+
+    /**
+     * Avvia il server HTTP riusando un servizio dei record gia' aperto.
+     * @param service servizio su cui rispondere alle richieste
+     */
+    public static void start(RecordService service) {
+        start(() -> service);
+    }
+
+    private static synchronized void start(Supplier<RecordService> services) {
         if (server != null) {
             return;
         }
 
         try {
-            RecordService service = new RecordService();
+            RecordService service = services.get();
             server = HttpServer.create(new InetSocketAddress(PORT), 0);
             server.createContext("/records/best", exchange ->
                 handleList(exchange, service.getBestRecords(5)));
             server.createContext("/records", exchange ->
                 handleRecords(exchange, service));
-            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
-                Thread thread = new Thread(r, "lost-record-api");
-                thread.setDaemon(true);
-                return thread;
-            }));
+            SessionRegistry sessions = new SessionRegistry(GameEventBus.shared(), SessionStore.defaultStore(),
+                SessionRegistry.DEFAULT_IDLE_TIMEOUT, SessionRegistry.DEFAULT_MAX_RESIDENT);
+            SessionApi.register(server, sessions);
+            // Alla chiusura del gioco le partite in memoria finiscono nell'archivio
+            Runtime.getRuntime().addShutdownHook(new Thread(sessions::close, "lost-sessions-shutdown"));
+            // Un thread virtuale per richiesta: un turno lento non blocca le altre partite
+            server.setExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("lost-record-api-", 0).factory()));
             server.start();
             System.out.println(" Record API attiva su http://localhost:" + PORT + "/records");
         } catch (IOException | RuntimeException e) {
@@ -19,7 +19,10 @@ public final class GameConverter {
     private GameConverter() {
     }
 
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson GSON =
+            SaveTypeAdapters.register(new GsonBuilder().setPrettyPrinting()).create();
+    private static final Gson COMPACT_GSON =
+            SaveTypeAdapters.register(new GsonBuilder()).create();
 
     /**
      * Estrae lo stato corrente dal GameEngine in un GameState serializzabile
@@ -83,6 +86,16 @@ public final class GameConverter {
         return GSON.toJson(state);
     }
 
+    /**
+     * Serializza uno stato di gioco in JSON senza spazi ne' a capo,
+     * per i file che nessuno legge a mano
+     * @param state stato da serializzare
+     * @return rappresentazione JSON compatta dello stato
+     */
+    public static String toCompactJson(GameState state) {
+        return COMPACT_GSON.toJson(state);
+    }
+
     /**
      * Deserializza un JSON in GameState
      * @param json stringa JSON da deserializzare
@@ -25,7 +25,8 @@ public final class GameSave {
             System.getProperty("user.home"), ".lost", "saves");
     private static final Path LEGACY_SAVE_DIR = Paths.get(
             System.getProperty("user.home"), ".lostthesis", "saves");
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson GSON =
+            SaveTypeAdapters.register(new GsonBuilder().setPrettyPrinting()).create();
 
     /**
      * Salva lo stato corrente del gioco in uno slot
@@ -15,6 +15,22 @@ public class ItemData {
     /** Costruttore vuoto richiesto per la deserializzazione JSON. */
     public ItemData() {}
 
+    /**
+     * Crea i dati di un oggetto campo per campo (usato dal TypeAdapter).
+     * @param name nome dell'oggetto
+     * @param description descrizione dell'oggetto
+     * @param takeable true se l'oggetto puo' essere raccolto
+     * @param type categoria dell'oggetto come stringa
+     * @param usesRemaining usi rimanenti (-1 = illimitati)
+     */
+    ItemData(String name, String description, boolean takeable, String type, int usesRemaining) {
+        this.name = name;
+        this.description = description;
+        this.takeable = takeable;
+        this.type = type;
+        this.usesRemaining = usesRemaining;
+    }
+
     /**
      * Converte un Item di gioco nella sua versione serializzabile.
      * @param item oggetto da convertire
@@ -0,0 +1,241 @@
+package com.lost.save;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TypeAdapter Gson scritti a mano per le classi del salvataggio.
+ * Leggono e scrivono il JSON in streaming campo per campo, senza
+ * reflection: il formato resta identico a quello dei vecchi salvataggi
+ * (stessi nomi dei campi) e i campi sconosciuti vengono ignorati.
+ */
+public final class SaveTypeAdapters {
+
+    private SaveTypeAdapters() {
+    }
+
+    /**
+     * Registra gli adapter di GameState, ItemData e GameSaveInstance.
+     * @param builder builder Gson da configurare
+     * @return lo stesso builder, per concatenare le chiamate
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+            .registerTypeAdapter(GameState.class, new GameStateAdapter().nullSafe())
+            .registerTypeAdapter(ItemData.class, new ItemDataAdapter().nullSafe())
+            .registerTypeAdapter(GameSaveInstance.class, new GameSaveInstanceAdapter().nullSafe());
+    }
+
+    /** Adapter dei dati di un oggetto. */
+    static final class ItemDataAdapter extends TypeAdapter<ItemData> {
+        @Override
+        public void write(JsonWriter out, ItemData item) throws IOException {
+            out.beginObject();
+            out.name("name").value(item.getName());
+            out.name("description").value(item.getDescription());
+            out.name("takeable").value(item.isTakeable());
+            out.name("type").value(item.getType());
+            out.name("usesRemaining").value(item.getUsesRemaining());
+            out.endObject();
+        }
+
+        @Override
+        public ItemData read(JsonReader in) throws IOException {
+            String name = null;
+            String description = null;
+            boolean takeable = false;
+            String type = null;
+            int usesRemaining = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name": name = nextString(in); break;
+                    case "description": description = nextString(in); break;
+                    case "takeable": takeable = in.nextBoolean(); break;
+                    case "type": type = nextString(in); break;
+                    case "usesRemaining": usesRemaining = in.nextInt(); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return new ItemData(name, description, takeable, type, usesRemaining);
+        }
+    }
+
+    /** Adapter dello stato completo della partita. */
+    static final class GameStateAdapter extends TypeAdapter<GameState> {
+        private final ItemDataAdapter itemAdapter = new ItemDataAdapter();
+
+        @Override
+        public void write(JsonWriter out, GameState state) throws IOException {
+            out.beginObject();
+            out.name("playerName").value(state.getPlayerName());
+            out.name("daysOnIsland").value(state.getDaysOnIsland());
+            out.name("currentRoomKey").value(state.getCurrentRoomKey());
+            if (state.getInventory() != null) {
+                out.name("inventory");
+                writeItems(out, state.getInventory());
+            }
+            out.name("currentChapter").value(state.getCurrentChapter());
+            out.name("currentChapterCompleted").value(state.isCurrentChapterCompleted());
+            out.name("currentChapterStarted").value(state.isCurrentChapterStarted());
+            out.name("gameRunning").value(state.isGameRunning());
+            out.name("gameWon").value(state.isGameWon());
+            out.name("blackRockExplored").value(state.isBlackRockExplored());
+            out.name("radioBatteryInstalled").value(state.isRadioBatteryInstalled());
+            out.name("radioAntennaInstalled").value(state.isRadioAntennaInstalled());
+            out.name("radioFuseInstalled").value(state.isRadioFuseInstalled());
+            out.name("radioRepaired").value(state.isRadioRepaired());
+            out.name("radioMessageReceived").value(state.isRadioMessageReceived());
+            out.name("dynamiteActive").value(state.isDynamiteActive());
+            out.name("dynamiteTimer").value(state.getDynamiteTimer());
+            if (state.getRoomItems() != null) {
+                out.name("roomItems");
+                out.beginObject();
+                for (Map.Entry<String, List<ItemData>> entry : state.getRoomItems().entrySet()) {
+                    out.name(entry.getKey());
+                    writeItems(out, entry.getValue());
+                }
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public GameState read(JsonReader in) throws IOException {
+            GameState state = new GameState();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "playerName": state.setPlayerName(nextString(in)); break;
+                    case "daysOnIsland": state.setDaysOnIsland(in.nextInt()); break;
+                    case "currentRoomKey": state.setCurrentRoomKey(nextString(in)); break;
+                    case "inventory": state.setInventory(readItems(in)); break;
+                    case "currentChapter": state.setCurrentChapter(in.nextInt()); break;
+                    case "currentChapterCompleted": state.setCurrentChapterCompleted(in.nextBoolean()); break;
+                    case "currentChapterStarted": state.setCurrentChapterStarted(in.nextBoolean()); break;
+                    case "gameRunning": state.setGameRunning(in.nextBoolean()); break;
+                    case "gameWon": state.setGameWon(in.nextBoolean()); break;
+                    case "blackRockExplored": state.setBlackRockExplored(in.nextBoolean()); break;
+                    case "radioBatteryInstalled": state.setRadioBatteryInstalled(in.nextBoolean()); break;
+                    case "radioAntennaInstalled": state.setRadioAntennaInstalled(in.nextBoolean()); break;
+                    case "radioFuseInstalled": state.setRadioFuseInstalled(in.nextBoolean()); break;
+                    case "radioRepaired": state.setRadioRepaired(in.nextBoolean()); break;
+                    case "radioMessageReceived": state.setRadioMessageReceived(in.nextBoolean()); break;
+                    case "dynamiteActive": state.setDynamiteActive(in.nextBoolean()); break;
+                    case "dynamiteTimer": state.setDynamiteTimer(in.nextInt()); break;
+                    case "roomItems": state.setRoomItems(readRoomItems(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return state;
+        }
+
+        private void writeItems(JsonWriter out, List<ItemData> items) throws IOException {
+            out.beginArray();
+            for (ItemData item : items) {
+                if (item == null) {
+                    out.nullValue();
+                } else {
+                    itemAdapter.write(out, item);
+                }
+            }
+            out.endArray();
+        }
+
+        private List<ItemData> readItems(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<ItemData> items = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else {
+                    items.add(itemAdapter.read(in));
+                }
+            }
+            in.endArray();
+            return items;
+        }
+
+        private Map<String, List<ItemData>> readRoomItems(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Map<String, List<ItemData>> roomItems = new LinkedHashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String roomKey = in.nextName();
+                List<ItemData> items = readItems(in);
+                if (items != null) {
+                    roomItems.put(roomKey, items);
+                }
+            }
+            in.endObject();
+            return roomItems;
+        }
+    }
+
+    /** Adapter dei metadati di uno slot (index.json). */
+    static final class GameSaveInstanceAdapter extends TypeAdapter<GameSaveInstance> {
+        @Override
+        public void write(JsonWriter out, GameSaveInstance instance) throws IOException {
+            out.beginObject();
+            out.name("slotName").value(instance.getSlotName());
+            out.name("playerName").value(instance.getPlayerName());
+            out.name("chapter").value(instance.getChapter());
+            out.name("chapterTitle").value(instance.getChapterTitle());
+            out.name("timestamp").value(instance.getTimestamp());
+            out.name("filename").value(instance.getFilename());
+            out.endObject();
+        }
+
+        @Override
+        public GameSaveInstance read(JsonReader in) throws IOException {
+            GameSaveInstance instance = new GameSaveInstance();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "slotName": instance.setSlotName(nextString(in)); break;
+                    case "playerName": instance.setPlayerName(nextString(in)); break;
+                    case "chapter": instance.setChapter(in.nextInt()); break;
+                    case "chapterTitle": instance.setChapterTitle(nextString(in)); break;
+                    case "timestamp": instance.setTimestamp(nextString(in)); break;
+                    case "filename": instance.setFilename(nextString(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return instance;
+        }
+    }
+
+    /**
+     * Legge una stringa accettando anche il valore JSON null.
+     * @param in reader posizionato sul valore
+     * @return la stringa letta, null se il valore e' null
+     * @throws IOException se il JSON non e' valido
+     */
+    static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
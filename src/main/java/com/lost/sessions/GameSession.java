@@ -0,0 +1,123 @@
+package com.lost.sessions;
+
+import com.lost.engine.EngineExecutor.TurnResult;
+import com.lost.engine.EngineSnapshot;
+import com.lost.engine.GameEngine;
+import com.lost.engine.StateDelta;
+import com.lost.save.GameConverter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Una partita ospitata dal server, identificata da un id opaco. I turni
+ * della stessa sessione vengono eseguiti uno alla volta; sessioni diverse
+ * giocano in parallelo.
+ *
+ * <p>Una sessione passivata e' ritirata: il suo stato vive ormai solo
+ * nell'archivio e i metodi restituiscono null, cosi' il registro sa di
+ * doverla riattivare da li'.</p>
+ */
+public final class GameSession {
+    private final String id;
+    private final GameEngine engine;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastAccessNanos = System.nanoTime();
+    private volatile boolean retired;
+
+    GameSession(String id, GameEngine engine) {
+        this.id = id;
+        this.engine = engine;
+    }
+
+    /** {@return l'id della sessione} */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Esegue un comando del giocatore. Il delta, se richiesto, si calcola
+     * sotto lo stesso lock del turno: descrive esattamente lo stato dopo
+     * questa risposta, anche con altri comandi in coda sulla sessione.
+     * @param command input testuale, come nella GUI
+     * @param knownVersion ultima versione ricevuta dal client, null se vuole lo stato intero
+     * @return risposta del motore e stato subito dopo il turno, null se la sessione e' ritirata
+     */
+    TurnResult execute(String command, Long knownVersion) {
+        lock.lock();
+        try {
+            if (retired) {
+                return null;
+            }
+            touch();
+            String response = engine.processCommand(command);
+            StateDelta delta = knownVersion == null ? null : engine.deltaSince(knownVersion);
+            return new TurnResult(response, engine.snapshot(), delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stato della partita all'ultimo turno concluso. Non prende il lock:
+     * una lettura non aspetta mai un turno in corso.
+     * @return lo snapshot pubblicato dal motore, null se la sessione e' ritirata
+     */
+    EngineSnapshot snapshot() {
+        if (retired) {
+            return null;
+        }
+        touch();
+        return engine.snapshot();
+    }
+
+    /**
+     * Cambiamenti dalla versione nota al client, senza prendere il lock.
+     * @param knownVersion ultima versione ricevuta dal client
+     * @return il delta, null se la sessione e' ritirata
+     */
+    StateDelta deltaSince(long knownVersion) {
+        if (retired) {
+            return null;
+        }
+        touch();
+        return engine.deltaSince(knownVersion);
+    }
+
+    /**
+     * Scrive la partita nell'archivio e ritira la sessione. Se un turno
+     * e' in corso aspetta che finisca, cosi' nessun comando va perso.
+     * @param store archivio di destinazione
+     * @return false se la sessione era gia' ritirata
+     */
+    boolean passivate(SessionStore store) {
+        lock.lock();
+        try {
+            if (retired) {
+                return false;
+            }
+            store.write(id, GameConverter.extractState(engine));
+            retired = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ritira la sessione senza salvarla, quando la partita viene chiusa. */
+    void retire() {
+        lock.lock();
+        try {
+            retired = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,351 @@
+package com.lost.sessions;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.lost.engine.EngineSnapshot;
+import com.lost.engine.EngineExecutor.TurnResult;
+import com.lost.engine.StateDelta;
+import com.lost.graphics.FullScreenRenderer;
+import com.lost.graphics.SceneFrames;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Endpoint REST per giocare senza GUI, montati sul server HTTP dei record:
+ * <ul>
+ *   <li>{@code POST /sessions} con {@code {"playerName":"Kate"}} crea una partita</li>
+ *   <li>{@code POST /sessions/{id}/commands} con {@code {"command":"A"}} gioca un turno</li>
+ *   <li>{@code GET /sessions/{id}} restituisce lo stato</li>
+ *   <li>{@code GET /sessions/{id}/delta?since=12} restituisce solo cio' che e'
+ *       cambiato dalla versione 12 (vedi {@link StateDelta})</li>
+ *   <li>{@code GET /sessions/{id}/frame.png?width=1280&height=720} restituisce
+ *       la scena disegnata come nella finestra, con ETag</li>
+ *   <li>{@code DELETE /sessions/{id}} chiude la partita</li>
+ * </ul>
+ *
+ * <p>Ogni risposta contiene un riassunto dello stato (capitolo, stanza,
+ * inventario, flag) scritto in streaming in un buffer gia' dimensionato
+ * sul testo del turno, e spedito senza copie intermedie. Un comando che
+ * indica {@code "since"} con l'ultima versione ricevuta ottiene invece il
+ * solo delta, di solito poche decine di byte.</p>
+ *
+ * <p>Le partite ospitate non possono salvare ne' caricare: i salvataggi
+ * sono quelli del giocatore locale. I corpi oltre 4 KB ricevono 413;
+ * oltre il tetto di partite aperte, o se le creazioni arrivano troppo in
+ * fretta, {@code POST /sessions} risponde 503 senza costruire alcun
+ * motore. Un errore interno diventa un 500 con il suo messaggio.</p>
+ */
+public final class SessionApi {
+    private static final String PREFIX = "/sessions";
+    private static final Gson GSON = new Gson();
+    private static final String MISSING = "Sessione inesistente o scaduta";
+    /** Byte riservati per id, stato e inventario oltre al testo del turno. */
+    private static final int STATE_BYTES = 512;
+    /** Corpo massimo di una richiesta: bastano nome e comando. */
+    private static final int MAX_BODY_BYTES = 4 * 1024;
+    /** Partite create al secondo al massimo, con una raffica della stessa misura. */
+    private static final int CREATIONS_PER_SECOND = 20;
+
+    private SessionApi() {
+    }
+
+    /**
+     * Registra gli endpoint delle partite su un server HTTP.
+     * @param server server su cui montare {@code /sessions}
+     * @param registry registro delle partite ospitate
+     */
+    public static void register(HttpServer server, SessionRegistry registry) {
+        SceneFrames frames = new SceneFrames();
+        CreationLimiter limiter = new CreationLimiter(CREATIONS_PER_SECOND);
+        server.createContext(PREFIX, exchange -> {
+            try (exchange) {
+                handleSafely(exchange, registry, frames, limiter);
+            }
+        });
+    }
+
+    /**
+     * Come {@link #handle}, ma un errore interno diventa un 500 invece di
+     * una connessione chiusa senza risposta.
+     */
+    private static void handleSafely(HttpExchange exchange, SessionRegistry registry,
+                                     SceneFrames frames, CreationLimiter limiter) throws IOException {
+        try {
+            handle(exchange, registry, frames, limiter);
+        } catch (RuntimeException e) {
+            System.out.println("Errore nell'API delle partite: " + e);
+            if (exchange.getResponseCode() == -1) {
+                sendError(exchange, 500, "Errore interno del server");
+            }
+        }
+    }
+
+    private static void handle(HttpExchange exchange, SessionRegistry registry,
+                               SceneFrames frames, CreationLimiter limiter) throws IOException {
+        String method = exchange.getRequestMethod().toUpperCase();
+        String[] path = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        // "" -> /sessions, "", id -> /sessions/{id}, "", id, "commands" -> /sessions/{id}/commands
+        if (path.length > 0 && !path[0].isEmpty()) {
+            sendError(exchange, 404, "Risorsa inesistente");
+            return;
+        }
+        if (path.length <= 1) {
+            if (!method.equals("POST")) {
+                sendError(exchange, 405, "Metodo non supportato");
+                return;
+            }
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                sendError(exchange, 413, "Richiesta troppo grande");
+                return;
+            }
+            if (!limiter.tryAcquire()) {
+                sendUnavailable(exchange, "Troppe partite create, riprova tra poco");
+                return;
+            }
+            CreateRequest request = parseJson(body, CreateRequest.class);
+            String name = request == null || request.playerName == null || request.playerName.isBlank()
+                ? "Sopravvissuto" : request.playerName.trim();
+            String id = registry.create(name);
+            if (id == null) {
+                sendUnavailable(exchange, "Troppe partite aperte, riprova piu' tardi");
+                return;
+            }
+            exchange.getResponseHeaders().set("Location", PREFIX + "/" + id);
+            sendState(exchange, 201, id, null, registry.snapshot(id));
+            return;
+        }
+
+        String id = path[1];
+        if (path.length == 2 && method.equals("GET")) {
+            EngineSnapshot state = registry.snapshot(id);
+            if (state == null) {
+                sendError(exchange, 404, MISSING);
+                return;
+            }
+            sendState(exchange, 200, id, null, state);
+        } else if (path.length == 2 && method.equals("DELETE")) {
+            if (!registry.remove(id)) {
+                sendError(exchange, 404, MISSING);
+                return;
+            }
+            exchange.sendResponseHeaders(204, -1);
+        } else if (path.length == 3 && path[2].equals("frame.png") && method.equals("GET")) {
+            EngineSnapshot state = registry.snapshot(id);
+            if (state == null) {
+                sendError(exchange, 404, MISSING);
+                return;
+            }
+            String query = exchange.getRequestURI().getRawQuery();
+            sendFrame(exchange, frames.frame(state.sceneImageKey(),
+                FullScreenRenderer.statusText(state.daysOnIsland(), state.roomKey()),
+                (int) longParameter(query, "width", SceneFrames.DEFAULT_WIDTH),
+                (int) longParameter(query, "height", SceneFrames.DEFAULT_HEIGHT)));
+        } else if (path.length == 3 && path[2].equals("delta") && method.equals("GET")) {
+            long since = longParameter(exchange.getRequestURI().getRawQuery(), "since", 0);
+            StateDelta delta = registry.deltaSince(id, since);
+            if (delta == null) {
+                sendError(exchange, 404, MISSING);
+                return;
+            }
+            sendDelta(exchange, id, null, delta);
+        } else if (path.length == 3 && path[2].equals("commands") && method.equals("POST")) {
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                sendError(exchange, 413, "Richiesta troppo grande");
+                return;
+            }
+            CommandRequest request = parseJson(body, CommandRequest.class);
+            if (request == null || request.command == null) {
+                sendError(exchange, 400, "Comando mancante");
+                return;
+            }
+            String command = request.command.isBlank() ? "avanti" : request.command.trim();
+            TurnResult turn = registry.execute(id, command, request.since);
+            if (turn == null) {
+                sendError(exchange, 404, MISSING);
+            } else if (turn.delta() != null) {
+                sendDelta(exchange, id, turn.response(), turn.delta());
+            } else {
+                sendState(exchange, 200, id, turn.response(), turn.snapshot());
+            }
+        } else if (path.length <= 3) {
+            sendError(exchange, 405, "Metodo non supportato");
+        } else {
+            sendError(exchange, 404, "Risorsa inesistente");
+        }
+    }
+
+    /** Corpo della richiesta; null se supera {@link #MAX_BODY_BYTES}, senza leggerne il resto. */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static <T> T parseJson(byte[] body, Class<T> type) {
+        try {
+            return GSON.fromJson(new String(body, StandardCharsets.UTF_8), type);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void sendState(HttpExchange exchange, int status, String id,
+                                  String response, EngineSnapshot state) throws IOException {
+        int expected = STATE_BYTES + (response == null ? 0 : response.length() * 2);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(expected);
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            json.beginObject();
+            json.name("id").value(id);
+            if (response != null) {
+                json.name("response").value(response);
+            }
+            json.name("state");
+            writeState(json, state);
+            json.endObject();
+        }
+        send(exchange, status, body);
+    }
+
+    private static void sendDelta(HttpExchange exchange, String id, String response,
+                                  StateDelta delta) throws IOException {
+        int expected = STATE_BYTES + (response == null ? 0 : response.length() * 2);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(expected);
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            json.beginObject();
+            json.name("id").value(id);
+            if (response != null) {
+                json.name("response").value(response);
+            }
+            json.name("delta");
+            delta.write(json);
+            json.endObject();
+        }
+        send(exchange, 200, body);
+    }
+
+    /**
+     * Risponde con un fotogramma PNG, o con 304 se il client ha gia' quello
+     * con lo stesso ETag: chi interroga di continuo la stessa scena non
+     * riscarica nulla.
+     */
+    private static void sendFrame(HttpExchange exchange, SceneFrames.Frame frame) throws IOException {
+        exchange.getResponseHeaders().set("ETag", frame.etag());
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        if (frame.etag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, frame.png().length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(frame.png());
+        }
+    }
+
+    /**
+     * Parametro numerico della query (per esempio {@code since=12}); il
+     * valore predefinito se assente o non valido.
+     */
+    private static long longParameter(String query, String name, long fallback) {
+        if (query == null) {
+            return fallback;
+        }
+        String prefix = name + "=";
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(parameter.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    return fallback;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static void writeState(JsonWriter json, EngineSnapshot state) throws IOException {
+        json.beginObject();
+        json.name("version").value(state.version());
+        json.name("player").value(state.playerName());
+        json.name("day").value(state.daysOnIsland());
+        json.name("chapter").value(state.chapterNumber());
+        json.name("totalChapters").value(state.totalChapters());
+        json.name("chapterTitle").value(state.chapterTitle());
+        json.name("room").value(state.roomKey());
+        json.name("scene").value(state.sceneImageKey());
+        json.name("inventory").beginArray();
+        for (String item : state.inventory()) {
+            json.value(item);
+        }
+        json.endArray();
+        json.name("choices").value(state.chapterHasChoices());
+        json.name("miniGame").value(state.miniGameActive());
+        json.name("running").value(state.gameRunning());
+        json.name("won").value(state.gameWon());
+        json.name("over").value(state.gameOver());
+        json.endObject();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64 + message.length());
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            json.beginObject().name("error").value(message).endObject();
+        }
+        send(exchange, status, body);
+    }
+
+    private static void sendUnavailable(HttpExchange exchange, String message) throws IOException {
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        sendError(exchange, 503, message);
+    }
+
+    private static void send(HttpExchange exchange, int status, ByteArrayOutputStream body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream os = exchange.getResponseBody()) {
+            body.writeTo(os);
+        }
+    }
+
+    /**
+     * Secchiello di gettoni per le creazioni: si ricarica di {@code perSecond}
+     * gettoni al secondo e ne tiene al massimo altrettanti.
+     */
+    private static final class CreationLimiter {
+        private final int perSecond;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        CreationLimiter(int perSecond) {
+            this.perSecond = perSecond;
+            this.tokens = perSecond;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(perSecond, tokens + (now - lastRefillNanos) * perSecond / 1e9);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private static class CreateRequest {
+        private String playerName;
+    }
+
+    private static class CommandRequest {
+        private String command;
+        private Long since;
+    }
+}
@@ -0,0 +1,329 @@
+package com.lost.sessions;
+
+import com.lost.engine.EngineExecutor.TurnResult;
+import com.lost.engine.EngineSnapshot;
+import com.lost.engine.GameLog;
+import com.lost.engine.GameEngine;
+import com.lost.engine.StateDelta;
+import com.lost.events.GameEventBus;
+import com.lost.save.GameState;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Registro concorrente delle partite ospitate. In memoria restano solo le
+ * sessioni usate di recente: quelle inattive oltre il timeout, e le meno
+ * recenti quando si supera il tetto di sessioni residenti, vengono
+ * passivate nel {@link SessionStore} e tolte dallo heap. Il primo comando
+ * per una sessione passivata la riattiva in modo trasparente, cosi' la
+ * memoria resta piatta anche con molti giocatori in totale.
+ */
+public final class SessionRegistry implements AutoCloseable {
+    /** Inattivita' dopo cui una sessione viene passivata. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    /** Sessioni tenute in memoria al massimo. */
+    public static final int DEFAULT_MAX_RESIDENT = 1_000;
+    /** Partite aperte al massimo, in memoria o passivate. */
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+    private static final long MAX_SWEEP_INTERVAL_MILLIS = 60_000;
+
+    private final Map<String, GameSession> resident = new ConcurrentHashMap<>();
+    /** Riattivazioni in corso, da attendere invece di ripeterle. */
+    private final Map<String, CompletableFuture<GameSession>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock capLock = new ReentrantLock();
+    private final GameEventBus eventBus;
+    private final SessionStore store;
+    private final long idleTimeoutNanos;
+    private final int maxResident;
+    private final int maxSessions;
+    private final AtomicInteger openSessions;
+    private final Thread sweeper;
+
+    /**
+     * Crea il registro con il tetto predefinito di partite aperte.
+     * @param eventBus bus su cui le partite pubblicano i loro eventi
+     * @param store archivio delle sessioni passivate
+     * @param idleTimeout inattivita' dopo cui una sessione viene passivata
+     * @param maxResident sessioni tenute in memoria al massimo
+     */
+    public SessionRegistry(GameEventBus eventBus, SessionStore store, Duration idleTimeout, int maxResident) {
+        this(eventBus, store, idleTimeout, maxResident, DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * Crea il registro e avvia la passivazione delle sessioni inattive.
+     * @param eventBus bus su cui le partite pubblicano i loro eventi
+     * @param store archivio delle sessioni passivate
+     * @param idleTimeout inattivita' dopo cui una sessione viene passivata
+     * @param maxResident sessioni tenute in memoria al massimo
+     * @param maxSessions partite aperte al massimo, contando anche quelle passivate
+     */
+    public SessionRegistry(GameEventBus eventBus, SessionStore store, Duration idleTimeout,
+                           int maxResident, int maxSessions) {
+        this.eventBus = eventBus;
+        this.store = store;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxResident = Math.max(1, maxResident);
+        this.maxSessions = Math.max(1, maxSessions);
+        // Le partite passivate in un'esecuzione precedente contano nel tetto
+        this.openSessions = new AtomicInteger(store.size());
+        long interval = Math.max(1, Math.min(MAX_SWEEP_INTERVAL_MILLIS, idleTimeout.toMillis() / 4));
+        this.sweeper = Thread.ofVirtual().name("lost-sessions-sweeper").start(() -> sweepEvery(interval));
+    }
+
+    /**
+     * Inizia una nuova partita, se non si e' raggiunto il tetto di partite aperte.
+     * @param playerName nome del giocatore
+     * @return l'id della sessione creata, null se ci sono gia' troppe partite
+     */
+    public String create(String playerName) {
+        if (openSessions.incrementAndGet() > maxSessions) {
+            openSessions.decrementAndGet();
+            return null;
+        }
+        String id = UUID.randomUUID().toString();
+        GameEngine engine = newEngine(id);
+        engine.initializeGame(playerName);
+        resident.put(id, new GameSession(id, engine));
+        enforceCap();
+        return id;
+    }
+
+    /**
+     * Gioca un turno, riattivando la sessione se era passivata.
+     * @param id id della sessione
+     * @param command input testuale del giocatore
+     * @return risposta e stato dopo il turno, null se la sessione non esiste
+     */
+    public TurnResult execute(String id, String command) {
+        return execute(id, command, null);
+    }
+
+    /**
+     * Gioca un turno e calcola nello stesso turno il delta dalla versione
+     * nota al client, riattivando la sessione se era passivata.
+     * @param id id della sessione
+     * @param command input testuale del giocatore
+     * @param knownVersion ultima versione ricevuta dal client, null se vuole lo stato intero
+     * @return risposta, stato e delta del turno, null se la sessione non esiste
+     */
+    public TurnResult execute(String id, String command, Long knownVersion) {
+        return withSession(id, session -> session.execute(command, knownVersion));
+    }
+
+    /**
+     * Legge lo stato di una partita, riattivandola se era passivata.
+     * @param id id della sessione
+     * @return lo stato corrente, null se la sessione non esiste
+     */
+    public EngineSnapshot snapshot(String id) {
+        return withSession(id, GameSession::snapshot);
+    }
+
+    /**
+     * Cambiamenti di una partita dalla versione nota al client,
+     * riattivandola se era passivata.
+     * @param id id della sessione
+     * @param knownVersion ultima versione ricevuta dal client, 0 se nessuna
+     * @return il delta, null se la sessione non esiste
+     */
+    public StateDelta deltaSince(String id, long knownVersion) {
+        return withSession(id, session -> session.deltaSince(knownVersion));
+    }
+
+    /**
+     * Chiude una partita, in memoria o passivata.
+     * @param id id della sessione
+     * @return true se la sessione esisteva
+     */
+    public boolean remove(String id) {
+        if (id == null) {
+            return false;
+        }
+        GameSession session = resident.remove(id);
+        if (session != null) {
+            // Aspetta un'eventuale passivazione in corso, poi ne cancella il file
+            session.retire();
+        }
+        boolean removed = store.delete(id) || session != null;
+        if (removed) {
+            openSessions.decrementAndGet();
+        }
+        return removed;
+    }
+
+    /** {@return il numero di sessioni in memoria} */
+    public int size() {
+        return resident.size();
+    }
+
+    /**
+     * Passiva subito le sessioni inattive oltre il timeout.
+     * @return quante sessioni sono state passivate
+     */
+    public int passivateIdle() {
+        long now = System.nanoTime();
+        int passivated = 0;
+        for (GameSession session : resident.values()) {
+            if (now - session.lastAccessNanos() > idleTimeoutNanos && passivate(session)) {
+                passivated++;
+            }
+        }
+        return passivated;
+    }
+
+    /**
+     * Ferma la passivazione periodica e passiva tutte le sessioni ancora in
+     * memoria, cosi' allo spegnimento nessuna partita va persa: tutte
+     * restano nell'archivio, riprendibili al riavvio.
+     */
+    @Override
+    public void close() {
+        sweeper.interrupt();
+        for (GameSession session : resident.values()) {
+            try {
+                passivate(session);
+            } catch (RuntimeException e) {
+                System.out.println("Sessione " + session.getId() + " non passivata: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Applica l'operazione alla sessione, riprendendola dall'archivio se viene passivata nel frattempo. */
+    private <T> T withSession(String id, Function<GameSession, T> operation) {
+        GameSession session;
+        while ((session = resolve(id)) != null) {
+            T result = operation.apply(session);
+            if (result != null) {
+                return result;
+            }
+            // Passivata mentre la cercavamo: la si riprende dall'archivio
+            resident.remove(id, session);
+        }
+        return null;
+    }
+
+    /**
+     * Sessione in memoria, riattivata dall'archivio se serve. Lettura del
+     * file e ricostruzione del motore avvengono fuori dalla mappa, senza
+     * bloccarne i bin: chi chiede la stessa sessione nel frattempo aspetta
+     * la riattivazione in corso invece di rifarla.
+     */
+    private GameSession resolve(String id) {
+        if (id == null) {
+            return null;
+        }
+        GameSession session = resident.get(id);
+        if (session != null) {
+            return session;
+        }
+        CompletableFuture<GameSession> mine = new CompletableFuture<>();
+        CompletableFuture<GameSession> running = loading.putIfAbsent(id, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            // Puo' essere stata riattivata tra la prima lettura e la prenotazione
+            session = resident.get(id);
+            if (session == null) {
+                session = rehydrate(id);
+                if (session != null) {
+                    resident.put(id, session);
+                }
+            }
+            mine.complete(session);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, mine);
+        }
+        if (session != null) {
+            enforceCap();
+        }
+        return session;
+    }
+
+    /** Ricostruisce una sessione passivata; null se non c'e' o se il file e' illeggibile. */
+    private GameSession rehydrate(String id) {
+        GameEngine engine;
+        try {
+            GameState state = store.read(id);
+            if (state == null) {
+                return null;
+            }
+            engine = newEngine(id);
+            engine.loadGameState(state);
+        } catch (RuntimeException e) {
+            // File corrotto: riprovare darebbe lo stesso errore a ogni richiesta
+            System.out.println("Sessione " + id + " non riattivabile: " + e.getMessage());
+            if (store.quarantine(id)) {
+                openSessions.decrementAndGet();
+            }
+            return null;
+        }
+        // Solo ora il file non serve piu': fino al caricamento riuscito la partita resta nell'archivio
+        store.delete(id);
+        return new GameSession(id, engine);
+    }
+
+    private GameEngine newEngine(String id) {
+        GameEngine engine = new GameEngine(eventBus);
+        engine.getAudioManager().setMusicEnabled(false);
+        engine.setSavesEnabled(false);
+        engine.getGameLog().setTranscript(GameLog.transcriptFor(id));
+        return engine;
+    }
+
+    /** Passiva le sessioni usate meno di recente finche' si rientra nel tetto. */
+    private void enforceCap() {
+        if (resident.size() <= maxResident || !capLock.tryLock()) {
+            return;
+        }
+        try {
+            while (resident.size() > maxResident) {
+                GameSession eldest = null;
+                for (GameSession session : resident.values()) {
+                    if (eldest == null || session.lastAccessNanos() < eldest.lastAccessNanos()) {
+                        eldest = session;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                passivate(eldest);
+            }
+        } finally {
+            capLock.unlock();
+        }
+    }
+
+    private boolean passivate(GameSession session) {
+        boolean written = session.passivate(store);
+        resident.remove(session.getId(), session);
+        return written;
+    }
+
+    private void sweepEvery(long intervalMillis) {
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                passivateIdle();
+                openSessions.addAndGet(-store.purgeOlderThan(SessionStore.DEFAULT_RETENTION));
+            } catch (RuntimeException e) {
+                System.out.println("Passivazione delle sessioni non riuscita: " + e.getMessage());
+            }
+        }
+    }
+}
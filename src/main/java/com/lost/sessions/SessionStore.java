@@ -0,0 +1,154 @@
+package com.lost.sessions;
+
+import com.lost.save.GameConverter;
+import com.lost.save.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Archivio su disco delle partite passivate: un file JSON compatto per
+ * sessione, nel formato dei salvataggi. I file non ripresi entro il
+ * periodo di conservazione vengono cancellati.
+ */
+public final class SessionStore {
+    /** Per quanto tempo una partita passivata resta riprendibile. */
+    public static final Duration DEFAULT_RETENTION = Duration.ofDays(7);
+    private static final String EXTENSION = ".json";
+
+    private final Path directory;
+
+    /**
+     * Crea l'archivio in una cartella, creandola se manca.
+     * @param directory cartella dei file di sessione
+     */
+    public SessionStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cartella delle sessioni non creata: " + directory, e);
+        }
+    }
+
+    /** {@return l'archivio predefinito in ~/.lost/sessions} */
+    public static SessionStore defaultStore() {
+        return new SessionStore(Paths.get(System.getProperty("user.home"), ".lost", "sessions"));
+    }
+
+    /**
+     * Scrive lo stato di una sessione, sostituendo l'eventuale copia precedente.
+     * @param id id della sessione
+     * @param state stato della partita
+     */
+    void write(String id, GameState state) {
+        Path file = fileFor(id);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, GameConverter.toCompactJson(state));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sessione non passivata: " + id, e);
+        }
+    }
+
+    /**
+     * Legge lo stato di una sessione passivata senza rimuoverlo: il file
+     * va cancellato con {@link #delete} solo a riattivazione riuscita.
+     * @param id id della sessione
+     * @return lo stato, null se la sessione non e' nell'archivio
+     */
+    GameState read(String id) {
+        Path file = fileFor(id);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            return GameConverter.fromJson(Files.readString(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sessione non riattivata: " + id, e);
+        }
+    }
+
+    /**
+     * Cancella una sessione passivata.
+     * @param id id della sessione
+     * @return true se il file esisteva
+     */
+    boolean delete(String id) {
+        Path file = fileFor(id);
+        try {
+            return file != null && Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Mette da parte il file di una sessione che non si riesce a riprendere,
+     * rinominandolo {@code .corrupt}: non viene piu' riletto a ogni richiesta
+     * ma resta ispezionabile fino alla pulizia periodica.
+     * @param id id della sessione
+     * @return true se il file e' stato spostato
+     */
+    boolean quarantine(String id) {
+        Path file = fileFor(id);
+        if (file == null) {
+            return false;
+        }
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"),
+                StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            // Se non si puo' spostare almeno non deve restare riprendibile
+            return delete(id);
+        }
+    }
+
+    /** {@return il numero di sessioni passivate} */
+    public int size() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return (int) files.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Cancella le sessioni passivate da piu' del tempo indicato.
+     * @param retention eta' massima dei file
+     * @return quante sessioni sono state cancellate
+     */
+    int purgeOlderThan(Duration retention) {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        int purged = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff && Files.deleteIfExists(file)
+                        && file.getFileName().toString().endsWith(EXTENSION)) {
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            // Pulizia best-effort: si riprova al giro successivo
+        }
+        return purged;
+    }
+
+    /** File di una sessione; null se l'id non e' un UUID (niente percorsi dal client). */
+    private Path fileFor(String id) {
+        try {
+            return directory.resolve(UUID.fromString(id) + EXTENSION);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.lost.socket;
 
+import com.lost.events.GameEvent;
+import com.lost.events.GameEventBus;
+
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
@@ -32,7 +35,8 @@ public final class DharmaRadioServer {
     }
 
     /**
-     * Avvia il server su un thread daemon in ascolto sulla porta 4815.
+     * Avvia il server su un thread daemon in ascolto sulla porta 4815
+     * e lo iscrive al bus condiviso degli eventi di gioco.
      * Chiamato una sola volta all'avvio del gioco; se la porta non e'
      * disponibile l'errore viene segnalato e il gioco continua.
      */
@@ -46,6 +50,10 @@ public final class DharmaRadioServer {
             Thread acceptThread = new Thread(DharmaRadioServer::acceptLoop, "dharma-radio");
             acceptThread.setDaemon(true);
             acceptThread.start();
+            // Le scritture sui socket avvengono sul consumatore del bus,
+            // mai sul thread del motore
+            GameEventBus.shared().subscribe("radio-dharma",
+                event -> broadcast(describe(event)));
             System.out.println(" Radio DHARMA in onda su localhost:" + PORT +
                 " (collegati con: nc localhost " + PORT + ")");
         } catch (IOException e) {
@@ -86,6 +94,22 @@ public final class DharmaRadioServer {
         }
     }
 
+    /**
+     * Testo radio di un evento di gioco.
+     * @param event evento da raccontare
+     * @return la riga da trasmettere
+     */
+    static String describe(GameEvent event) {
+        return switch (event) {
+            case GameEvent.ChapterStarted c ->
+                "CAP. " + c.number() + "/" + c.total() + " - " + c.title();
+            case GameEvent.PlayerMoved m -> m.playerName() + " si sposta verso " + m.roomName();
+            case GameEvent.ItemTaken t -> t.playerName() + " ha raccolto: " + t.itemName();
+            case GameEvent.HatchOpened h -> "BOOM! La botola e' stata aperta con la dinamite.";
+            case GameEvent.GameCompleted g -> g.playerName() + " e' fuggito dall'isola. FINE.";
+        };
+    }
+
     private static boolean sendTo(Socket client, String line) {
         try {
             OutputStream out = client.getOutputStream();
@@ -0,0 +1,341 @@
+package com.lost.socket;
+
+import com.lost.engine.GameEngine;
+import com.lost.engine.GameLog;
+import com.lost.events.GameEventBus;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partite in rete: server TCP in cui ogni connessione gioca la propria
+ * partita, con un {@link GameEngine} tutto suo, scrivendo i comandi
+ * riga per riga. Basta {@code nc localhost 4816}.
+ *
+ * <p>I client grafici scrivono {@code /stato N} con l'ultima versione
+ * ricevuta e ottengono su una riga il JSON compatto di
+ * {@link com.lost.engine.StateDelta}: solo cio' che e' cambiato da allora
+ * (tutto, con {@code /stato} da solo). Con {@code /diario N} chi si
+ * e' perso qualcosa rilegge le ultime N voci del log di gioco.</p>
+ *
+ * <p>L'accettazione avviene su un {@link ServerSocketChannel} NIO e ogni
+ * sessione gira su un thread virtuale: letture e scritture bloccanti non
+ * occupano thread di sistema, quindi migliaia di giocatori collegati
+ * costano solo la memoria dei loro motori. Le righe sono limitate a
+ * {@value #MAX_LINE_BYTES} byte e le connessioni inattive oltre il
+ * timeout vengono chiuse da un unico thread di controllo.</p>
+ *
+ * <p>Come la radio, il server e' fail-safe: se la porta e' occupata il
+ * gioco prosegue senza partite in rete.</p>
+ */
+public final class GameSessionServer implements AutoCloseable {
+
+    /** Porta predefinita: 4 8 16, subito dopo la radio. */
+    public static final int DEFAULT_PORT = 4816;
+    /** Inattivita' dopo cui una connessione viene chiusa. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(15);
+    /** Lunghezza massima di un comando, a capo escluso. */
+    static final int MAX_LINE_BYTES = 512;
+    /** Sessioni contemporanee oltre cui le nuove connessioni vengono rifiutate. */
+    private static final int MAX_SESSIONS = 10_000;
+    private static final long MAX_REAP_INTERVAL_MILLIS = 1_000;
+    private static final String PROMPT = "> ";
+    private static final String STATE_COMMAND = "/stato";
+    private static final String JOURNAL_COMMAND = "/diario";
+    /** Voci del diario mostrate quando il client non ne indica il numero. */
+    private static final int DEFAULT_JOURNAL_ENTRIES = 3;
+
+    private static GameSessionServer instance;
+
+    private final ServerSocketChannel acceptor;
+    private final GameEventBus eventBus;
+    private final long idleTimeoutNanos;
+    private final ExecutorService sessionThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Apre il server e inizia ad accettare connessioni.
+     * @param address indirizzo di ascolto (porta 0 per una porta libera qualsiasi)
+     * @param eventBus bus su cui le partite pubblicano i loro eventi
+     * @param idleTimeout inattivita' dopo cui una connessione viene chiusa
+     * @throws IOException se la porta non e' disponibile
+     */
+    public GameSessionServer(InetSocketAddress address, GameEventBus eventBus,
+                             Duration idleTimeout) throws IOException {
+        this.eventBus = eventBus;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.acceptor = ServerSocketChannel.open();
+        acceptor.bind(address, 1024);
+
+        Thread acceptThread = new Thread(this::acceptLoop, "lost-game-server");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        Thread.ofVirtual().name("lost-game-server-idle").start(this::closeIdleSessions);
+    }
+
+    /**
+     * Avvia il server predefinito su localhost:4816, con le partite che
+     * pubblicano sul bus condiviso (la radio le racconta). Chiamato una
+     * sola volta all'avvio; se la porta non e' disponibile l'errore viene
+     * segnalato e il gioco continua.
+     */
+    public static synchronized void start() {
+        if (instance != null) {
+            return;
+        }
+        try {
+            instance = new GameSessionServer(new InetSocketAddress("localhost", DEFAULT_PORT),
+                GameEventBus.shared(), DEFAULT_IDLE_TIMEOUT);
+            System.out.println(" Partite in rete su localhost:" + DEFAULT_PORT +
+                " (gioca con: nc localhost " + DEFAULT_PORT + ")");
+        } catch (IOException e) {
+            System.out.println("Partite in rete non avviate: " + e.getMessage());
+        }
+    }
+
+    /** {@return la porta su cui il server e' in ascolto} */
+    public int getPort() {
+        return acceptor.socket().getLocalPort();
+    }
+
+    /** {@return il numero di connessioni aperte} */
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    /** Smette di accettare connessioni e chiude tutte le sessioni. */
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(acceptor);
+        for (Session session : sessions) {
+            session.close();
+        }
+        sessionThreads.shutdown();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            SocketChannel channel;
+            try {
+                channel = acceptor.accept();
+            } catch (IOException e) {
+                // Server chiuso o errore di accept: esce dal ciclo
+                return;
+            }
+            if (sessions.size() >= MAX_SESSIONS) {
+                Session refused = new Session(channel);
+                refused.send("L'isola e' piena, riprova piu' tardi.\n");
+                refused.close();
+                continue;
+            }
+            Session session = new Session(channel);
+            sessions.add(session);
+            sessionThreads.execute(session);
+        }
+    }
+
+    private void closeIdleSessions() {
+        long interval = Math.max(1, Math.min(MAX_REAP_INTERVAL_MILLIS, idleTimeoutNanos / 4_000_000));
+        while (!closed) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            for (Session session : sessions) {
+                if (now - session.lastActivity > idleTimeoutNanos && session.expired.compareAndSet(false, true)) {
+                    // Il saluto potrebbe bloccarsi su un client che non legge: mai sul thread di controllo
+                    Thread.startVirtualThread(session::expire);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // chiusura best-effort
+        }
+    }
+
+    /**
+     * Una connessione: legge righe dal canale e le gioca sul suo motore.
+     * Il motore e' toccato solo dal thread virtuale della sessione.
+     */
+    private final class Session implements Runnable {
+        private final SocketChannel channel;
+        private final ByteBuffer input = ByteBuffer.allocate(1024);
+        private final byte[] line = new byte[MAX_LINE_BYTES];
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final AtomicBoolean expired = new AtomicBoolean();
+        private volatile long lastActivity = System.nanoTime();
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+            input.flip();
+        }
+
+        @Override
+        public void run() {
+            try {
+                play();
+            } catch (IOException e) {
+                // Client disconnesso o sessione chiusa per inattivita'
+            } finally {
+                close();
+                sessions.remove(this);
+            }
+        }
+
+        private void play() throws IOException {
+            send("=== LOST - Partita in rete ===\nCome ti chiami, sopravvissuto?\n" + PROMPT);
+            String name = readLine();
+            if (name == null) {
+                return;
+            }
+            name = name.isBlank() ? "Sopravvissuto" : name.trim();
+
+            GameEngine engine = new GameEngine(eventBus);
+            engine.getAudioManager().setMusicEnabled(false);
+            engine.setSavesEnabled(false);
+            GameLog log = engine.getGameLog();
+            log.setTranscript(GameLog.transcriptFor("tcp-" + UUID.randomUUID()));
+            try {
+                engine.initializeGame(name);
+                send(name + ", sei vivo.\n\nPremi INVIO per iniziare, scrivi esci per uscire.\n" + PROMPT);
+                playTurns(engine, name);
+            } finally {
+                log.setTranscript(null);
+            }
+        }
+
+        private void playTurns(GameEngine engine, String name) throws IOException {
+            String command;
+            while ((command = readLine()) != null) {
+                command = command.trim();
+                if (command.equalsIgnoreCase("esci")) {
+                    send("Alla prossima, " + name + ".\n");
+                    return;
+                }
+                if (command.startsWith(STATE_COMMAND)) {
+                    send(engine.deltaSince(knownVersion(command)).toJson() + "\n" + PROMPT);
+                    continue;
+                }
+                if (command.startsWith(JOURNAL_COMMAND)) {
+                    send(journal(engine.getGameLog(), command) + PROMPT);
+                    continue;
+                }
+                String response = engine.processCommand(command.isEmpty() ? "avanti" : command);
+                if (engine.isGameWon() || engine.isGameOver()) {
+                    send(response + "\n");
+                    return;
+                }
+                send(response + "\n" + PROMPT);
+            }
+        }
+
+        private static long knownVersion(String command) {
+            try {
+                return Long.parseLong(command.substring(STATE_COMMAND.length()).trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        /** Le ultime voci del log, una per paragrafo, per {@code /diario N}. */
+        private static String journal(GameLog log, String command) {
+            int count;
+            try {
+                count = Integer.parseInt(command.substring(JOURNAL_COMMAND.length()).trim());
+            } catch (NumberFormatException e) {
+                count = DEFAULT_JOURNAL_ENTRIES;
+            }
+            StringBuilder text = new StringBuilder();
+            for (GameLog.Entry entry : log.tail(Math.max(1, count))) {
+                text.append(entry.text()).append("\n\n");
+            }
+            return text.isEmpty() ? "Il diario e' vuoto.\n" : text.toString();
+        }
+
+        /**
+         * Legge una riga terminata da LF (con CR opzionale).
+         * @return la riga senza terminatore, null a connessione chiusa o riga troppo lunga
+         */
+        private String readLine() throws IOException {
+            int length = 0;
+            while (true) {
+                while (input.hasRemaining()) {
+                    byte b = input.get();
+                    if (b == '\n') {
+                        if (length > 0 && line[length - 1] == '\r') {
+                            length--;
+                        }
+                        return new String(line, 0, length, StandardCharsets.UTF_8);
+                    }
+                    if (length == line.length) {
+                        send("\nComando troppo lungo, connessione chiusa.\n");
+                        return null;
+                    }
+                    line[length++] = b;
+                }
+                input.clear();
+                int read = channel.read(input);
+                input.flip();
+                if (read < 0) {
+                    return null;
+                }
+                lastActivity = System.nanoTime();
+            }
+        }
+
+        /**
+         * Scrive il testo; false se il client non e' piu' raggiungibile.
+         * Un lock esplicito e non {@code synchronized}, che su JDK 21
+         * bloccherebbe il thread portante durante la scrittura.
+         */
+        boolean send(String text) {
+            ByteBuffer output = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            writeLock.lock();
+            try {
+                while (output.hasRemaining()) {
+                    channel.write(output);
+                }
+                return true;
+            } catch (IOException e) {
+                close();
+                return false;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /** Saluta e chiude una sessione rimasta inattiva troppo a lungo. */
+        void expire() {
+            if (!writeLock.isLocked()) {
+                send("\nDisconnesso per inattivita'.\n");
+            }
+            close();
+        }
+
+        void close() {
+            closeQuietly(channel);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.lost.terminal;
+
+import com.lost.engine.GameEngine;
+import com.lost.graphics.TextColorizer;
+import com.lost.records.RecordService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interfaccia da terminale: legge i comandi da stdin e stampa le risposte
+ * del motore su stdout, colorate con sequenze ANSI secondo le stesse
+ * regole del testo della GUI. Non carica mai AWT o Swing, font e immagini:
+ * parte in una frazione del tempo e della memoria della finestra e si puo'
+ * usare su server e CI, anche con una partita intera in pipe.
+ *
+ * <p>Una riga vuota equivale ad AVANTI; {@code esci} chiude la partita.</p>
+ */
+public final class TerminalGame {
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final boolean colors;
+
+    /**
+     * Crea l'interfaccia su flussi qualsiasi.
+     * @param in comandi del giocatore, una riga per comando
+     * @param out dove stampare le risposte
+     * @param colors true per le sequenze di colore ANSI
+     */
+    public TerminalGame(InputStream in, PrintStream out, boolean colors) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = out;
+        this.colors = colors;
+    }
+
+    /**
+     * Avvia la partita su stdin e stdout. I colori si attivano solo su un
+     * terminale vero, e mai con {@code --no-color} o la variabile NO_COLOR.
+     * @param args argomenti da riga di comando
+     */
+    public static void start(String[] args) {
+        boolean colors = System.console() != null
+            && System.getenv("NO_COLOR") == null
+            && !"dumb".equals(System.getenv("TERM"));
+        for (String arg : args) {
+            if ("--no-color".equals(arg)) {
+                colors = false;
+            }
+        }
+        PrintStream stdout = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        new TerminalGame(System.in, stdout, colors).run();
+    }
+
+    /**
+     * Gioca finche' la partita non finisce o i comandi non terminano.
+     * @return il motore della partita giocata, null se non e' iniziata
+     */
+    public GameEngine run() {
+        print("═══ LOST ═══\nCome ti chiami, sopravvissuto?");
+        String name = readLine();
+        if (name == null) {
+            return null;
+        }
+        if (name.isBlank()) {
+            name = "Sopravvissuto";
+        }
+
+        GameEngine engine = new GameEngine();
+        engine.getAudioManager().setMusicEnabled(false);
+        engine.initializeGame(name.trim());
+        long startMillis = System.currentTimeMillis();
+        print(name.trim() + ", sei vivo.\n\nPremi INVIO per iniziare, scrivi esci per uscire.");
+
+        String command;
+        while ((command = readLine()) != null) {
+            command = command.trim();
+            if (command.equalsIgnoreCase("esci")) {
+                break;
+            }
+            print(engine.processCommand(command.isEmpty() ? "avanti" : command));
+
+            if (engine.isGameWon()) {
+                saveRecord(name.trim(), System.currentTimeMillis() - startMillis);
+                break;
+            }
+            if (engine.isGameOver()) {
+                break;
+            }
+        }
+        return engine;
+    }
+
+    private void saveRecord(String playerName, long elapsedMillis) {
+        try {
+            new RecordService().saveCompletion(playerName, elapsedMillis);
+        } catch (RuntimeException e) {
+            out.println("Record non salvato: " + e.getMessage());
+        }
+    }
+
+    private void print(String text) {
+        out.println(colors ? TextColorizer.colorizeAnsi(text) : text);
+        out.print("> ");
+        out.flush();
+    }
+
+    private String readLine() {
+        try {
+            return in.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
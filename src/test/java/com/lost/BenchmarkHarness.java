@@ -0,0 +1,58 @@
+package com.lost;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Misura comune ai micro-benchmark: riscaldamento, poi tempo medio e byte
+ * allocati per operazione sul thread corrente, stampati su una riga.
+ */
+final class BenchmarkHarness {
+    /** Risultati tenuti vivi, cosi' il JIT non elimina le operazioni misurate. */
+    private static volatile Object sink;
+
+    private BenchmarkHarness() {
+    }
+
+    /**
+     * Misura un'operazione che produce un risultato.
+     * @param label etichetta della riga
+     * @param warmup iterazioni di riscaldamento, non misurate
+     * @param iterations iterazioni misurate
+     * @param op operazione da misurare
+     */
+    static void report(String label, int warmup, int iterations, Supplier<?> op) {
+        for (int i = 0; i < warmup; i++) {
+            sink = op.get();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = op.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - bytesBefore;
+        System.out.printf("%-28s %8.2f us/op  %9d B/op%n",
+            label, elapsed / 1000.0 / iterations, allocated / iterations);
+    }
+
+    /**
+     * Misura un'operazione senza risultato (per esempio un disegno).
+     * @param label etichetta della riga
+     * @param warmup iterazioni di riscaldamento, non misurate
+     * @param iterations iterazioni misurate
+     * @param op operazione da misurare
+     */
+    static void report(String label, int warmup, int iterations, Runnable op) {
+        report(label, warmup, iterations, () -> {
+            op.run();
+            return null;
+        });
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}
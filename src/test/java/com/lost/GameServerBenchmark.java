@@ -0,0 +1,114 @@
+package com.lost;
+
+import com.lost.events.GameEventBus;
+import com.lost.socket.GameSessionServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prova di carico delle partite in rete: apre migliaia di connessioni
+ * locali contemporanee, aspetta che siano tutte in partita, misura la
+ * memoria occupata e poi fa giocare a ciascuna gli stessi comandi,
+ * riportando la latenza dei turni.
+ *
+ * <p>Si esegue con {@code ./scripts/bench.sh GameServerBenchmark [connessioni]}
+ * (predefinite 2000).</p>
+ */
+public class GameServerBenchmark {
+    private static final String[] COMMANDS = {"", "A", "", "A", "", "B", "guarda", "inventario"};
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch go = new CountDownLatch(1);
+
+        try (GameSessionServer server = new GameSessionServer(new InetSocketAddress("localhost", 0),
+                 new GameEventBus(), Duration.ofMinutes(5));
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            long start = System.nanoTime();
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                String name = "Giocatore" + i;
+                results.add(clients.submit(() -> play(server.getPort(), name, connected, go)));
+            }
+            connected.await();
+            long connectMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.gc();
+            Runtime rt = Runtime.getRuntime();
+            long heap = rt.totalMemory() - rt.freeMemory();
+            System.out.printf("%d connessioni in partita in %d ms (sessioni attive: %d)%n",
+                connections, connectMillis, server.getActiveSessions());
+            System.out.printf("Heap occupato: %d MB, circa %d KB per sessione%n",
+                heap >> 20, heap / connections >> 10);
+
+            long playStart = System.nanoTime();
+            go.countDown();
+            long[] latencies = new long[connections * COMMANDS.length];
+            int n = 0;
+            for (Future<long[]> result : results) {
+                for (long latency : result.get()) {
+                    latencies[n++] = latency;
+                }
+            }
+            long playMillis = Math.max(1, (System.nanoTime() - playStart) / 1_000_000);
+            Arrays.sort(latencies, 0, n);
+            System.out.printf("%d turni in %d ms (%d turni/s)%n", n, playMillis, n * 1000L / playMillis);
+            System.out.printf("Latenza per turno: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                latencies[n / 2] / 1e6, latencies[n * 99 / 100] / 1e6, latencies[n - 1] / 1e6);
+        }
+    }
+
+    private static long[] play(int port, String name, CountDownLatch connected, CountDownLatch go)
+            throws IOException, InterruptedException {
+        try (Socket socket = new Socket("localhost", port)) {
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            readUntilPrompt(in);
+            out.write((name + "\n").getBytes(StandardCharsets.UTF_8));
+            readUntilPrompt(in);
+            connected.countDown();
+            go.await();
+
+            long[] latencies = new long[COMMANDS.length];
+            for (int i = 0; i < COMMANDS.length; i++) {
+                long start = System.nanoTime();
+                out.write((COMMANDS[i] + "\n").getBytes(StandardCharsets.UTF_8));
+                readUntilPrompt(in);
+                latencies[i] = System.nanoTime() - start;
+            }
+            out.write("esci\n".getBytes(StandardCharsets.UTF_8));
+            return latencies;
+        }
+    }
+
+    private static void readUntilPrompt(InputStream in) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            text.write(chunk, 0, read);
+            byte[] bytes = text.toByteArray();
+            int len = bytes.length;
+            if (len >= 2 && bytes[len - 2] == '>' && bytes[len - 1] == ' ') {
+                return;
+            }
+        }
+        throw new IOException("connessione chiusa prima del prompt");
+    }
+}
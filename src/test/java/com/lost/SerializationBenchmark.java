@@ -0,0 +1,70 @@
+package com.lost;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.lost.engine.GameEngine;
+import com.lost.records.GameRecord;
+import com.lost.records.GameRecordAdapter;
+import com.lost.save.GameConverter;
+import com.lost.save.GameState;
+import com.lost.save.SaveTypeAdapters;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Micro-benchmark della serializzazione: confronta Gson riflessivo con i
+ * TypeAdapter scritti a mano, misurando tempo e byte allocati per un
+ * salvataggio completo (toJson + fromJson) e per una risposta /records.
+ *
+ * <p>Si esegue con {@code ./scripts/bench.sh SerializationBenchmark}.</p>
+ */
+public class SerializationBenchmark {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+    private static final Type RECORD_LIST = new TypeToken<List<GameRecord>>() { }.getType();
+
+    public static void main(String[] args) {
+        GameState state = sampleState();
+        List<GameRecord> records = sampleRecords(50);
+
+        Gson reflectiveSave = new GsonBuilder().setPrettyPrinting().create();
+        Gson adapterSave = SaveTypeAdapters.register(new GsonBuilder().setPrettyPrinting()).create();
+        Gson reflectiveApi = new Gson();
+        Gson adapterApi = new GsonBuilder()
+            .registerTypeAdapter(GameRecord.class, new GameRecordAdapter())
+            .create();
+
+        System.out.println("Salvataggio (toJson + fromJson di GameState)");
+        BenchmarkHarness.report("  riflessivo", WARMUP, ITERATIONS,
+            () -> reflectiveSave.fromJson(reflectiveSave.toJson(state), GameState.class));
+        BenchmarkHarness.report("  adapter   ", WARMUP, ITERATIONS,
+            () -> adapterSave.fromJson(adapterSave.toJson(state), GameState.class));
+
+        System.out.println("Risposta /records (" + records.size() + " record)");
+        BenchmarkHarness.report("  riflessivo", WARMUP, ITERATIONS,
+            () -> reflectiveApi.toJson(records, RECORD_LIST));
+        BenchmarkHarness.report("  adapter   ", WARMUP, ITERATIONS,
+            () -> adapterApi.toJson(records, RECORD_LIST));
+    }
+
+    private static GameState sampleState() {
+        GameEngine engine = new GameEngine();
+        engine.getAudioManager().toggleMusic();
+        engine.initializeGame("Bench");
+        engine.forceStartFirstChapter();
+        engine.processCommand("A");
+        return GameConverter.extractState(engine);
+    }
+
+    private static List<GameRecord> sampleRecords(int count) {
+        List<GameRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new GameRecord(i + 1, "Giocatore" + i, 60_000L + i * 1_000L,
+                "2026-01-01T10:" + String.format("%02d", i % 60) + ":00Z"));
+        }
+        return records;
+    }
+}
@@ -1,7 +1,15 @@
 package com.lost;
 
+import com.lost.engine.EngineExecutor.TurnResult;
+import com.lost.engine.EngineSnapshot;
 import com.lost.engine.GameEngine;
+import com.lost.engine.GameLog;
+import com.lost.engine.GameStateListener;
+import com.lost.engine.StateDelta;
+import com.lost.events.GameEvent;
+import com.lost.events.GameEventBus;
 import com.lost.graphics.PixelArtManager;
+import com.lost.gui.FrameClock;
 import com.lost.model.Item;
 import com.lost.records.GameRecord;
 import com.lost.records.RecordRepository;
@@ -9,12 +17,39 @@ import com.lost.records.RecordService;
 import com.lost.save.GameConverter;
 import com.lost.save.GameSave;
 import com.lost.save.GameState;
+import com.lost.sessions.SessionApi;
+import com.lost.sessions.SessionRegistry;
+import com.lost.sessions.SessionStore;
 import com.lost.socket.DharmaRadioServer;
+import com.lost.socket.GameSessionServer;
+import com.lost.terminal.TerminalGame;
+import com.sun.net.httpserver.HttpServer;
 
+import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
 
 public class SmokeTests {
     private static int passed = 0;
@@ -39,6 +74,19 @@ public class SmokeTests {
         run("mappa non persa con inventario pieno", SmokeTests::testMapNotLostWhenInventoryFull);
         run("caricamento normalizza save incoerente", SmokeTests::testLoadNormalizesInconsistentSave);
         run("dinamite pulita dopo apertura botola", SmokeTests::testDynamiteStateClearedAfterHatch);
+        run("eventi di stato solo sui cambi", SmokeTests::testStateListenerFiresOnlyOnChanges);
+        run("bus eventi ordinato e limitato", SmokeTests::testEventBusKeepsOrderAndDropsOverflow);
+        run("log circolare limitato", SmokeTests::testGameLogWrapsAndQueriesRanges);
+        run("immagini riscalate senza ricaricare", SmokeTests::testImagesRescaleInBackground);
+        run("immagini dei prossimi capitoli", SmokeTests::testUpcomingImageKeysFollowStory);
+        run("orologio unico delle animazioni", SmokeTests::testFrameClockRunsAndGoesIdle);
+        run("warm-up isolato dalla partita vera", SmokeTests::testWarmUpStaysOffSharedBus);
+        run("partita da terminale con colori ANSI", SmokeTests::testTerminalGamePlaysFromPipe);
+        run("partite in rete indipendenti", SmokeTests::testGameSessionServerPlaysAndTimesOut);
+        run("API REST delle partite e fotogrammi", SmokeTests::testSessionApiPlaysAndDeletes);
+        run("sessioni passivate e riattivate", SmokeTests::testSessionsPassivateAndComeBack);
+        run("snapshot letti durante i turni", SmokeTests::testSnapshotsReadWhileTurnsRun);
+        run("delta di stato versionati", SmokeTests::testStateDeltaCarriesOnlyChanges);
 
         System.out.println();
         System.out.println("Test superati: " + passed);
@@ -219,9 +267,10 @@ public class SmokeTests {
             assertContains(in.readLine(), "RADIO DHARMA");
             in.readLine();
 
-            // Diamo tempo al server di registrare il client, poi trasmettiamo
+            // Diamo tempo al server di registrare il client, poi l'evento
+            // passa dal bus come farebbe il motore
             Thread.sleep(100);
-            DharmaRadioServer.broadcast("BOOM! La botola e' stata aperta con la dinamite.");
+            GameEventBus.shared().publish(new GameEvent.HatchOpened());
 
             String evento = in.readLine();
             assertContains(evento, "BOOM");
@@ -229,6 +278,220 @@ public class SmokeTests {
         }
     }
 
+    private static void testGameSessionServerPlaysAndTimesOut() throws Exception {
+        // Timeout lungo per chi gioca: su una macchina lenta i turni non devono scadere a meta'
+        try (GameSessionServer server = new GameSessionServer(new InetSocketAddress("localhost", 0),
+                 new GameEventBus(), Duration.ofMinutes(1));
+             Socket player = new Socket("localhost", server.getPort())) {
+
+            InputStream in = player.getInputStream();
+            OutputStream out = player.getOutputStream();
+            assertContains(readUntilPrompt(in), "Come ti chiami");
+            out.write("Locke\n\nA\r\n".getBytes(StandardCharsets.UTF_8));
+            assertContains(readUntilPrompt(in), "Locke, sei vivo");
+            assertContains(readUntilPrompt(in), "CAP. 1/");
+            assertContains(readUntilPrompt(in), "CORRETTO");
+            out.write("/stato\n".getBytes(StandardCharsets.UTF_8));
+            assertContains(readUntilPrompt(in), "\"player\":\"Locke\"");
+            out.write("/diario 1\n".getBytes(StandardCharsets.UTF_8));
+            assertContains(readUntilPrompt(in), "CAP. 1/");
+
+            // I client remoti non scrivono nei salvataggi dell'host
+            String slot = "rete_" + System.nanoTime();
+            Path hostSave = Paths.get(System.getProperty("user.home"), ".lost", "saves", slot + ".json");
+            out.write(("salva " + slot + "\n").getBytes(StandardCharsets.UTF_8));
+            assertContains(readUntilPrompt(in), "non disponibili");
+            out.write("carica\n".getBytes(StandardCharsets.UTF_8));
+            assertContains(readUntilPrompt(in), "non disponibili");
+            assertTrue(Files.notExists(hostSave), "salvataggio remoto scritto in " + hostSave);
+            assertTrue(GameSave.listSaves().stream().noneMatch(save -> save.getSlotName().equals(slot)),
+                "slot remoto nell'indice dei salvataggi");
+        }
+
+        // Chi non scrive nulla viene salutato e disconnesso: server a parte con timeout breve
+        try (GameSessionServer server = new GameSessionServer(new InetSocketAddress("localhost", 0),
+                 new GameEventBus(), Duration.ofMillis(300));
+             Socket idle = new Socket("localhost", server.getPort())) {
+            String farewell = new String(idle.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertContains(farewell, "inattivita'");
+        }
+    }
+
+    private static void testSessionApiPlaysAndDeletes() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        try (SessionRegistry registry = new SessionRegistry(new GameEventBus(),
+                 new SessionStore(Files.createTempDirectory("lost-sessions")), Duration.ofMinutes(1), 10, 1)) {
+            SessionApi.register(server, registry);
+            server.start();
+            String base = "http://localhost:" + server.getAddress().getPort() + "/sessions";
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"playerName\":\"Jin\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, created.statusCode(), "creazione");
+            String location = created.headers().firstValue("Location").orElseThrow();
+            String session = "http://localhost:" + server.getAddress().getPort() + location;
+            assertContains(created.body(), "\"player\":\"Jin\"");
+            HttpResponse<String> full = client.send(HttpRequest.newBuilder(URI.create(base))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"playerName\":\"Sun\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, full.statusCode(), "tetto di partite aperte");
+            HttpResponse<String> huge = client.send(HttpRequest.newBuilder(URI.create(session + "/commands"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"command\":\"" + "x".repeat(8192) + "\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(413, huge.statusCode(), "corpo troppo grande");
+            HttpResponse<String> save = client.send(HttpRequest.newBuilder(URI.create(session + "/commands"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"command\":\"salva salvataggio1\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertContains(save.body(), "non disponibili");
+
+            for (String command : new String[] {"", "A"}) {
+                HttpResponse<String> turn = client.send(HttpRequest.newBuilder(URI.create(session + "/commands"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"command\":\"" + command + "\"}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, turn.statusCode(), "turno " + command);
+            }
+            HttpResponse<String> state = client.send(HttpRequest.newBuilder(URI.create(session)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertContains(state.body(), "\"chapter\":2");
+
+            HttpResponse<byte[]> frame = client.send(HttpRequest.newBuilder(
+                URI.create(session + "/frame.png?width=640&height=360")).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, frame.statusCode(), "fotogramma");
+            assertEquals((byte) 0x89, frame.body()[0], "firma PNG");
+            String etag = frame.headers().firstValue("ETag").orElseThrow();
+            HttpResponse<byte[]> again = client.send(HttpRequest.newBuilder(
+                URI.create(session + "/frame.png?width=640&height=360"))
+                .header("If-None-Match", etag).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(304, again.statusCode(), "fotogramma invariato");
+
+            HttpResponse<String> deleted = client.send(HttpRequest.newBuilder(URI.create(session)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(204, deleted.statusCode(), "chiusura");
+            HttpResponse<String> gone = client.send(HttpRequest.newBuilder(URI.create(session)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(404, gone.statusCode(), "sessione chiusa");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void testSessionsPassivateAndComeBack() throws Exception {
+        SessionStore store = new SessionStore(Files.createTempDirectory("lost-sessions"));
+        try (SessionRegistry registry = new SessionRegistry(new GameEventBus(), store, Duration.ofMinutes(1), 1)) {
+            String ben = registry.create("Ben");
+            registry.execute(ben, "avanti");
+            registry.execute(ben, "A");
+
+            // Il tetto di una sessione residente passiva Ben quando arriva Juliet
+            String juliet = registry.create("Juliet");
+            assertEquals(1, registry.size(), "sessioni in memoria");
+            assertEquals(1, store.size(), "sessioni passivate");
+
+            // Il comando successivo riattiva Ben dal punto in cui era
+            EngineSnapshot state = registry.execute(ben, "inventario").snapshot();
+            assertEquals("Ben", state.playerName(), "giocatore riattivato");
+            assertEquals(2, state.chapterNumber(), "capitolo riattivato");
+            assertEquals(1, registry.size(), "Juliet passivata al posto di Ben");
+
+            // Il delta del comando descrive lo stato dopo quella stessa risposta
+            TurnResult turn = registry.execute(ben, "A", state.version());
+            assertEquals(turn.snapshot().version(), turn.delta().version(), "delta dello stesso turno");
+            assertFalse(turn.delta().full(), "delta parziale dopo la riattivazione");
+
+            assertTrue(registry.remove(juliet), "sessione passivata rimossa");
+            assertEquals(0, store.size(), "archivio vuoto");
+            assertTrue(registry.snapshot(juliet) == null, "sessione rimossa ancora leggibile");
+        }
+        // Alla chiusura del registro Ben, rimasto in memoria, finisce nell'archivio
+        assertEquals(1, store.size(), "sessioni passivate alla chiusura");
+
+        // Un file illeggibile viene messo da parte e libera il suo posto
+        Path dir = Files.createTempDirectory("lost-sessions");
+        String broken = java.util.UUID.randomUUID().toString();
+        Files.writeString(dir.resolve(broken + ".json"), "{ non e' json");
+        try (SessionRegistry registry = new SessionRegistry(new GameEventBus(), new SessionStore(dir),
+                 Duration.ofMinutes(1), 1, 1)) {
+            assertTrue(registry.snapshot(broken) == null, "sessione corrotta riattivata");
+            assertTrue(Files.exists(dir.resolve(broken + ".json.corrupt")), "file corrotto non messo da parte");
+            assertTrue(registry.create("Desmond") != null, "posto della sessione corrotta non liberato");
+        }
+    }
+
+    private static void testSnapshotsReadWhileTurnsRun() throws Exception {
+        GameEngine engine = new GameEngine(new GameEventBus());
+        engine.getAudioManager().setMusicEnabled(false);
+        engine.initializeGame("Desmond");
+        EngineSnapshot first = engine.snapshot();
+        assertTrue(first == engine.snapshot(), "snapshot ricreato senza turni");
+
+        // Un lettore su un altro thread non vede mai capitoli che tornano indietro
+        AtomicInteger regressions = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            int lastChapter = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    EngineSnapshot state = engine.snapshot();
+                    if (state.chapterNumber() < lastChapter) {
+                        regressions.incrementAndGet();
+                    }
+                    lastChapter = state.chapterNumber();
+                    state.inventory().size();
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        for (String command : new String[] {"avanti", "A", "avanti", "A", "avanti", "B", "avanti", "C"}) {
+            engine.processCommand(command);
+        }
+        reader.interrupt();
+        reader.join();
+
+        assertEquals(0, regressions.get() + failures.get(), "letture incoerenti");
+        assertEquals(engine.getCurrentChapterNumber(), engine.snapshot().chapterNumber(), "ultimo turno pubblicato");
+        assertFalse(first == engine.snapshot(), "snapshot non aggiornato dai turni");
+    }
+
+    private static void testStateDeltaCarriesOnlyChanges() {
+        GameEngine engine = new GameEngine(new GameEventBus());
+        engine.getAudioManager().setMusicEnabled(false);
+        engine.initializeGame("Charlie");
+        long start = engine.snapshot().version();
+
+        StateDelta full = engine.deltaSince(0);
+        assertTrue(full.full(), "delta iniziale completo");
+        assertEquals("Charlie", full.changes().get("player"), "giocatore nel delta completo");
+
+        engine.processCommand("avanti");
+        engine.processCommand("A");
+        StateDelta turn = engine.deltaSince(start);
+        assertFalse(turn.full(), "delta da versione nota");
+        assertEquals(2, turn.changes().get("chapter"), "capitolo superato");
+        assertFalse(turn.changes().containsKey("player"), "campo invariato nel delta");
+        assertTrue(turn.version() > start, "versione non avanzata");
+
+        assertTrue(engine.deltaSince(turn.version()).isEmpty(), "delta vuoto a versione corrente");
+        assertTrue(engine.deltaSince(turn.version() + 1000).full(), "versione sconosciuta");
+        assertContains(turn.toJson(), "\"full\":false");
+    }
+
+    private static String readUntilPrompt(InputStream in) throws Exception {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0) {
+            text.write(b);
+            String sofar = text.toString(StandardCharsets.UTF_8);
+            if (sofar.endsWith("> ")) {
+                return sofar;
+            }
+        }
+        return text.toString(StandardCharsets.UTF_8);
+    }
+
     private static void testLoadNormalizesInconsistentSave() {
         // Save "rotto": capitolo oltre la fine ma ancora in corso
         GameState rotto = new GameState();
@@ -422,6 +685,203 @@ public class SmokeTests {
         assertContains(engine.processCommand("stato"), "Giorno 8");
     }
 
+    private static void testStateListenerFiresOnlyOnChanges() {
+        GameEngine engine = newStartedEngine("Hurley");
+        List<Integer> days = new ArrayList<>();
+        List<List<String>> inventories = new ArrayList<>();
+        engine.addStateListener(new GameStateListener() {
+            @Override
+            public void dayChanged(int day) {
+                days.add(day);
+            }
+
+            @Override
+            public void inventoryChanged(List<String> itemNames) {
+                inventories.add(itemNames);
+            }
+        });
+
+        // Comandi che non toccano lo stato non generano eventi
+        engine.processCommand("stato");
+        engine.processCommand("aiuto");
+        assertTrue(days.isEmpty() && inventories.isEmpty(), "nessun evento senza cambi");
+
+        answerAndContinue(engine, "A");
+        answerAndContinue(engine, "A");
+        answerAndContinue(engine, "B");
+        assertEquals(3, days.get(days.size() - 1), "ultimo giorno notificato");
+        assertEquals((long) days.size(), days.stream().distinct().count(), "giorni notificati una volta");
+
+        // Anche le modifiche dirette al Player emergono a fine turno
+        engine.getPlayer().addItem(new Item("Conchiglia", "una conchiglia", true,
+            Item.ItemType.GENERICO, -1));
+        engine.processCommand("stato");
+        assertEquals(List.of("Conchiglia"), inventories.get(inventories.size() - 1), "inventario notificato");
+        engine.processCommand("lascia conchiglia");
+        assertEquals(List.of(), inventories.get(inventories.size() - 1), "inventario dopo lascia");
+    }
+
+    private static void testEventBusKeepsOrderAndDropsOverflow() throws Exception {
+        GameEventBus bus = new GameEventBus();
+        GameEngine engine = new GameEngine(bus);
+        engine.getAudioManager().toggleMusic();
+
+        List<GameEvent> received = new java.util.concurrent.CopyOnWriteArrayList<>();
+        CountDownLatch firstChapter = new CountDownLatch(1);
+        try (GameEventBus.Subscription sub = bus.subscribe("test", event -> {
+            received.add(event);
+            firstChapter.countDown();
+        })) {
+            engine.initializeGame("Sawyer");
+            engine.forceStartFirstChapter();
+            assertTrue(firstChapter.await(2, TimeUnit.SECONDS), "evento capitolo non consegnato");
+            assertEquals(new GameEvent.ChapterStarted(1, engine.getTotalChapters(),
+                engine.getCurrentChapterTitle()), received.get(0), "evento capitolo");
+            assertEquals(0L, sub.droppedCount(), "nessun evento scartato");
+        }
+
+        // Un iscritto bloccato riempie solo la sua coda
+        CountDownLatch release = new CountDownLatch(1);
+        try (GameEventBus.Subscription slow = bus.subscribe("lento", 2, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            for (int i = 0; i < 10; i++) {
+                bus.publish(new GameEvent.HatchOpened());
+            }
+            assertTrue(slow.droppedCount() >= 7, "eventi in eccesso scartati: " + slow.droppedCount());
+            release.countDown();
+        }
+    }
+
+    private static void testGameLogWrapsAndQueriesRanges() throws Exception {
+        GameLog log = new GameLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(i, GameLog.Type.EVENT, "voce " + i);
+        }
+        assertEquals(4, log.size(), "capacita' rispettata");
+        assertEquals(6L, log.firstSequence(), "voci vecchie sovrascritte");
+        assertEquals("voce 9", log.last().text(), "ultima voce");
+
+        List<GameLog.Entry> range = log.range(0, 8);
+        assertEquals(2, range.size(), "intervallo limitato alle voci presenti");
+        assertEquals("voce 6", range.get(0).text(), "prima voce dell'intervallo");
+        assertEquals(7, range.get(1).turn(), "turno della voce");
+
+        GameEngine engine = newStartedEngine("Ben");
+        assertEquals(GameLog.Type.CHAPTER, engine.getGameLog().last().type(), "capitolo nel log");
+
+        // Le partite ospitate scrivono la trascrizione se la cartella e' indicata
+        Path transcripts = Files.createTempDirectory("lost-transcripts");
+        System.setProperty(GameLog.TRANSCRIPTS_PROPERTY, transcripts.toString());
+        try (SessionRegistry registry = new SessionRegistry(new GameEventBus(),
+                 new SessionStore(Files.createTempDirectory("lost-sessions")), Duration.ofMinutes(1), 10)) {
+            String hurley = registry.create("Hurley");
+            registry.execute(hurley, "avanti");
+            Path file = transcripts.resolve(hurley + ".log");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!(Files.exists(file) && Files.readString(file).contains("CAP. 1/"))
+                   && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            String text = Files.readString(file);
+            assertContains(text, "Sei vivo, Hurley");
+            assertContains(text, "CAP. 1/");
+        } finally {
+            System.clearProperty(GameLog.TRANSCRIPTS_PROPERTY);
+        }
+    }
+
+    private static void testImagesRescaleInBackground() throws Exception {
+        PixelArtManager manager = new PixelArtManager(400, 225);
+        assertTrue(manager.getImage("giungla") == manager.getImage("risveglio"),
+            "alias dello stesso file condividono l'immagine");
+
+        CountDownLatch ready = new CountDownLatch(1);
+        manager.resize(200, 110, ready::countDown);
+        // Prima che la variante sia pronta si vede la sorgente
+        assertEquals(400, manager.getImage("spiaggia").getWidth(), "sorgente nel frattempo");
+        assertTrue(ready.await(5, TimeUnit.SECONDS), "riscalatura non completata");
+        assertEquals(200, manager.getImage("spiaggia").getWidth(), "variante alla nuova misura");
+        assertEquals(110, manager.getImage("giungla").getHeight(), "alias riscalato");
+    }
+
+    private static void testUpcomingImageKeysFollowStory() {
+        GameEngine engine = newStartedEngine("Kate");
+        assertEquals(List.of("cap1_firstnight", "cap2_survivors", "cap3_smoke"),
+            engine.getUpcomingImageKeys(2), "capitoli successivi");
+
+        PixelArtManager manager = new PixelArtManager(400, 225);
+        for (String key : engine.getUpcomingImageKeys(20)) {
+            assertTrue(manager.hasImage(key), "immagine prevista inesistente: " + key);
+        }
+        // Disegno e prefetch sullo stesso file condividono una sola decodifica
+        manager.prefetch(List.of("cap4_caves"));
+        BufferedImage shown = manager.getImage("cap4_caves");
+        assertTrue(shown == manager.getImage("cap4_caves"), "decodifica ripetuta");
+    }
+
+    private static void testFrameClockRunsAndGoesIdle() throws Exception {
+        FrameClock clock = FrameClock.shared();
+        AtomicInteger steps = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(2);
+        SwingUtilities.invokeAndWait(() -> {
+            FrameClock.Task[] task = {null};
+            task[0] = clock.every(10, () -> {
+                if (steps.incrementAndGet() == 5) {
+                    task[0].cancel();
+                    finished.countDown();
+                }
+            });
+            clock.after(30, finished::countDown);
+            // Un passo che fallisce ferma solo se stesso, non l'orologio
+            clock.after(5, () -> {
+                throw new IllegalStateException("passo difettoso di prova");
+            });
+        });
+        assertTrue(finished.await(5, TimeUnit.SECONDS), "animazioni non completate");
+        assertEquals(5, steps.get(), "passi dopo l'annullamento");
+
+        boolean[] idle = {false};
+        FrameClock.Stats[] stats = {null};
+        SwingUtilities.invokeAndWait(() -> {
+            idle[0] = clock.isIdle();
+            stats[0] = clock.stats();
+        });
+        assertTrue(idle[0], "orologio non fermo senza animazioni");
+        assertTrue(stats[0].frames() > 0 && stats[0].frames() <= stats[0].steps(),
+            "frame non coerenti con i passi: " + stats[0]);
+    }
+
+    private static void testWarmUpStaysOffSharedBus() throws Exception {
+        List<GameEvent> leaked = new java.util.concurrent.CopyOnWriteArrayList<>();
+        GameEventBus.Subscription subscription = GameEventBus.shared().subscribe("test", leaked::add);
+        try {
+            assertTrue(WarmUp.run() > 0, "nessun comando eseguito");
+            Thread.sleep(100);
+        } finally {
+            subscription.close();
+        }
+        assertTrue(leaked.isEmpty(), "eventi del warm-up sul bus condiviso: " + leaked.size());
+    }
+
+    private static void testTerminalGamePlaysFromPipe() {
+        String commands = "Sawyer\n\nA\n\nA\nesci\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        GameEngine engine = new TerminalGame(
+            new ByteArrayInputStream(commands.getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(output, true, StandardCharsets.UTF_8), true).run();
+
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertContains(text, "CORRETTO");
+        assertContains(text, "\u001B[0;38;2;");
+        assertFalse(text.contains("<span"), "HTML nel terminale");
+        assertEquals(2, engine.getCurrentChapter(), "capitolo dopo due risposte");
+    }
+
     private static void testSaveSlotSanitization() {
         assertEquals("fake_h2", GameSave.sanitizeSlotName("../../fake h2"), "slot traversal");
         assertEquals("", GameSave.sanitizeSlotName(""), "slot vuoto");
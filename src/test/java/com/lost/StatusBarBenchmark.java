@@ -0,0 +1,62 @@
+package com.lost;
+
+import com.lost.graphics.FullScreenRenderer;
+import com.lost.graphics.GameFonts;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Micro-benchmark della barra di stato: confronta il disegno con font
+ * derivati a ogni chiamata (come faceva il renderer) con i font e le
+ * metriche in cache di {@link GameFonts}, e misura il frame completo del
+ * renderer quando il giorno cambia a ogni iterazione.
+ *
+ * <p>Si esegue con {@code ./scripts/bench.sh StatusBarBenchmark}.</p>
+ */
+public class StatusBarBenchmark {
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 698;
+    private static final String INSTRUCTIONS = "[A/B/C] Scegli | [INVIO] Avanti";
+
+    private static int day;
+
+    public static void main(String[] args) {
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Font base = GameFonts.retroPlain(1f);
+
+        System.out.println("Barra di stato (giorno, location e istruzioni)");
+        BenchmarkHarness.report("  deriveFont a ogni frame", WARMUP, ITERATIONS,
+            () -> drawStatusBar(g, base.deriveFont(Font.BOLD, 20f), base.deriveFont(Font.PLAIN, 15f), null));
+        BenchmarkHarness.report("  font e metriche in cache", WARMUP, ITERATIONS,
+            () -> drawStatusBar(g, GameFonts.retroBold(20f), GameFonts.retroPlain(15f),
+                GameFonts.metrics(GameFonts.retroPlain(15f))));
+
+        FullScreenRenderer renderer = new FullScreenRenderer(WIDTH, HEIGHT);
+        System.out.println("Frame del renderer con il giorno che cambia");
+        BenchmarkHarness.report("  render", WARMUP, ITERATIONS,
+            () -> renderer.render(g, "spiaggia", "Giorno " + (++day % 100) + " | SPIAGGIA"));
+    }
+
+    private static void drawStatusBar(Graphics2D g, Font bold, Font plain, FontMetrics plainMetrics) {
+        int barY = HEIGHT - 50;
+        g.setColor(Color.BLACK);
+        g.fillRect(0, barY, WIDTH, 50);
+        g.setFont(bold);
+        g.setColor(Color.YELLOW);
+        g.drawString("Giorno " + (++day % 100), 20, barY + 22);
+        g.drawString("SPIAGGIA", 150, barY + 22);
+        g.setFont(plain);
+        FontMetrics fm = plainMetrics != null ? plainMetrics : g.getFontMetrics();
+        g.setColor(Color.GRAY);
+        g.drawString(INSTRUCTIONS, WIDTH - fm.stringWidth(INSTRUCTIONS) - 15, barY + 20);
+    }
+}